@@ -0,0 +1,60 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of answering one 409 for an occupied period, from throwing the exception to the serialized body, compared to
+ * the previous path: exception with a stack trace, new formatter per error and Jackson serialization per response.
+ * Run with ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConflictResponseBenchmark {
+
+	private GlobalExceptionHandler exceptionHandler;
+	private ObjectMapper objectMapper;
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+		exceptionHandler = new GlobalExceptionHandler();
+		exceptionHandler.objectMapper = objectMapper;
+	}
+
+	@Benchmark
+	public byte[] stacklessPreSerializedConflict() {
+		try {
+			throw new OccupiedPeriodException();
+		} catch (OccupiedPeriodException e) {
+			ResponseEntity<byte[]> response = exceptionHandler.handleOccupiedPeriodException(e);
+			return response.getBody();
+		}
+	}
+
+	@Benchmark
+	public byte[] previousConflict(Blackhole blackhole) throws Exception {
+		try {
+			throw new IllegalStateException(OccupiedPeriodException.OCCUPIED_DATE_ERROR);
+		} catch (IllegalStateException e) {
+			blackhole.consume(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")));
+			OperationError error = new OperationError(HttpStatus.CONFLICT, "Occupied period error", e.getMessage());
+			return objectMapper.writeValueAsBytes(error);
+		}
+	}
+}
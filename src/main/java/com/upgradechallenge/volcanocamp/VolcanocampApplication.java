@@ -2,9 +2,25 @@ package com.upgradechallenge.volcanocamp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.upgradechallenge.volcanocamp.configuration.ArchivalConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.CapacityConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.ChangeChannelConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.ClusterConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.GrpcConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.InventoryConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.LockingConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.PruningConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.ReplicaConfiguration;
 import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.TracingConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.TransferConfiguration;
+import com.upgradechallenge.volcanocamp.configuration.WaitingRoomConfiguration;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
@@ -18,12 +34,36 @@ import io.swagger.v3.oas.annotations.info.Info;
 		name = "Roman Andoni", 
 		email = "roman.andoni@gmail.com")))
 @SpringBootApplication
+@EnableScheduling
+@EnableAsync
 @EnableConfigurationProperties({
 	ReservationConfiguration.class,
+	ArchivalConfiguration.class,
+	PruningConfiguration.class,
+	ReplicaConfiguration.class,
+	InventoryConfiguration.class,
+	LockingConfiguration.class,
+	CapacityConfiguration.class,
+	ChangeChannelConfiguration.class,
+	ClusterConfiguration.class,
+	WaitingRoomConfiguration.class,
+	TracingConfiguration.class,
+	TransferConfiguration.class,
+	GrpcConfiguration.class,
 })
 public class VolcanocampApplication {
 
+	// Startup steps kept for the startup actuator endpoint
+	private static final int STARTUP_STEPS_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(VolcanocampApplication.class, args);
+		SpringApplication application = new SpringApplication(VolcanocampApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+		ConfigurableApplicationContext context = application.run(args);
+
+		// Training run of the class data sharing archive (see cdsClassList in build.gradle): stop once started
+		if (context.getEnvironment().getProperty("startup.exitWhenStarted", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 }
@@ -0,0 +1,17 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.archival")
+public class ArchivalConfiguration {
+
+	private boolean enabled;
+	private int batchSize;
+	private int maxBatchesPerRun;
+
+}
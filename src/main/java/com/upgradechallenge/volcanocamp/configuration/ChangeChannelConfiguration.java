@@ -0,0 +1,17 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.changes")
+public class ChangeChannelConfiguration {
+
+	private String channel;
+	private long pollTimeoutMs;
+	private long reconnectDelayMs;
+
+}
@@ -0,0 +1,22 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.cluster")
+public class ClusterConfiguration {
+
+	private String self;
+	private List<String> members;
+	private int virtualNodes;
+	private int partitionDays;
+	private long forwardTimeoutMs;
+	private String forwardSecret;
+
+}
@@ -0,0 +1,5 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+public enum DataSourceRole {
+	PRIMARY, REPLICA
+}
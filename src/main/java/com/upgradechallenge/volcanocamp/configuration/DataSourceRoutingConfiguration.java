@@ -0,0 +1,56 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the auto-configured DataSource by a primary pool and a replica pool behind a routing DataSource when
+ * reservation.replica.enabled is set. The primary pool keeps the standard spring.datasource properties, the
+ * replica pool is configured under reservation.replica.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+	@Bean
+	@ConfigurationProperties(prefix = "spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@ConfigurationProperties(prefix = "reservation.replica.datasource")
+	public HikariDataSource replicaDataSource() {
+		return DataSourceBuilder.create().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") DataSource replicaDataSource) {
+		Map<Object, Object> targetDataSources = new HashMap<>();
+		targetDataSources.put(DataSourceRole.PRIMARY, primaryDataSource);
+		targetDataSources.put(DataSourceRole.REPLICA, replicaDataSource);
+
+		ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+		routingDataSource.setTargetDataSources(targetDataSources);
+		routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+		routingDataSource.afterPropertiesSet();
+
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+}
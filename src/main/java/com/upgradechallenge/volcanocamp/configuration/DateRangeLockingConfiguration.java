@@ -0,0 +1,33 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
+import com.upgradechallenge.volcanocamp.service.DateRangeLocker;
+import com.upgradechallenge.volcanocamp.service.PostgresAdvisoryDateRangeLocker;
+import com.upgradechallenge.volcanocamp.service.StripedDateRangeLocker;
+
+/**
+ * Date range locker used by the advisory booking mode, backed by PostgreSQL advisory locks or by in-JVM lock stripes
+ * depending on reservation.locking.strategy.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "advisory")
+public class DateRangeLockingConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "reservation.locking", name = "strategy", havingValue = "postgres", matchIfMissing = true)
+	public DateRangeLocker postgresAdvisoryDateRangeLocker(ReservationDateRepository reservationDateRepo,
+			LockingConfiguration lockingConfig) {
+		return new PostgresAdvisoryDateRangeLocker(reservationDateRepo, lockingConfig.getBucketDays());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "reservation.locking", name = "strategy", havingValue = "jvm")
+	public DateRangeLocker stripedDateRangeLocker(LockingConfiguration lockingConfig) {
+		return new StripedDateRangeLocker(lockingConfig.getJvmStripes(), lockingConfig.getBucketDays(),
+				lockingConfig.getJvmLockTimeoutMs());
+	}
+}
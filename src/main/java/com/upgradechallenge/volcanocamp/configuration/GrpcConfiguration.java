@@ -0,0 +1,21 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.grpc")
+public class GrpcConfiguration {
+
+	private boolean enabled;
+	private int port;
+	private long shutdownTimeoutMs;
+	private int executorThreads;
+	private int maxConcurrentCallsPerConnection;
+	private String certChainFile;
+	private String privateKeyFile;
+
+}
@@ -0,0 +1,15 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.inventory")
+public class InventoryConfiguration {
+
+	private int horizonDays;
+
+}
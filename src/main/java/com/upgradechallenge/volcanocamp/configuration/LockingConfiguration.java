@@ -0,0 +1,18 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.locking")
+public class LockingConfiguration {
+
+	private String strategy;
+	private int bucketDays;
+	private int jvmStripes;
+	private long jvmLockTimeoutMs;
+
+}
@@ -0,0 +1,43 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.nativex.hint.TypeAccess;
+import org.springframework.nativex.hint.TypeHint;
+
+import com.upgradechallenge.volcanocamp.dto.AvailabilityBitmaskDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableCapacityDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableDatesDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableWindowDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableWindowsDto;
+import com.upgradechallenge.volcanocamp.dto.DateCapacityDto;
+import com.upgradechallenge.volcanocamp.dto.ImportSummaryDto;
+import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.dto.ReservationPageDto;
+import com.upgradechallenge.volcanocamp.dto.WaitlistEntryDto;
+import com.upgradechallenge.volcanocamp.exception.OperationError;
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
+import com.upgradechallenge.volcanocamp.model.DateCapacity;
+import com.upgradechallenge.volcanocamp.model.InventoryDate;
+import com.upgradechallenge.volcanocamp.model.OccupancyHistory;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.model.ReservationDate;
+import com.upgradechallenge.volcanocamp.model.WaitlistEntry;
+import com.upgradechallenge.volcanocamp.utils.ReservationDatesValidator;
+
+/**
+ * Reflection the native image needs beyond what Spring AOT infers (only read by ./gradlew -Pnative builds):
+ * Hibernate instantiates and populates the entities, Jackson the Lombok-generated DTOs and error bodies, and
+ * Hibernate Validator the custom constraint validator. The gRPC interface is JVM-only: grpc-netty-shaded and the
+ * protobuf messages get no hints, so native images must be built with reservation.grpc.enabled=false.
+ */
+@Configuration
+@TypeHint(types = { Reservation.class, ReservationDate.class, ArchivedReservation.class, InventoryDate.class,
+		DateCapacity.class, WaitlistEntry.class, OccupancyHistory.class }, access = {
+				TypeAccess.DECLARED_CONSTRUCTORS, TypeAccess.DECLARED_FIELDS, TypeAccess.DECLARED_METHODS })
+@TypeHint(types = { ReservationDto.class, ReservationPageDto.class, AvailableDatesDto.class,
+		AvailabilityBitmaskDto.class, AvailableWindowDto.class, AvailableWindowsDto.class, DateCapacityDto.class,
+		AvailableCapacityDto.class, WaitlistEntryDto.class, ImportSummaryDto.class, OperationError.class }, access = {
+				TypeAccess.DECLARED_CONSTRUCTORS, TypeAccess.DECLARED_FIELDS, TypeAccess.PUBLIC_METHODS })
+@TypeHint(types = ReservationDatesValidator.class, access = TypeAccess.DECLARED_CONSTRUCTORS)
+public class NativeHintsConfiguration {
+}
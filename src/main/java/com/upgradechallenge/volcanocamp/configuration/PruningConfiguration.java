@@ -0,0 +1,19 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.pruning")
+public class PruningConfiguration {
+
+	private boolean enabled;
+	private int retentionDays;
+	private int batchSize;
+	private int maxBatchesPerRun;
+	private boolean historyEnabled;
+
+}
@@ -0,0 +1,25 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+/**
+ * Thread bound override forcing read-only transactions of the current thread to the primary database, used when
+ * the data about to be read may not have reached the replica yet.
+ */
+public final class ReadRoutingContext {
+
+	private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+	private ReadRoutingContext() {
+	}
+
+	public static void forcePrimary() {
+		PRIMARY_FORCED.set(Boolean.TRUE);
+	}
+
+	public static boolean isPrimaryForced() {
+		return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+	}
+
+	public static void clear() {
+		PRIMARY_FORCED.remove();
+	}
+}
@@ -0,0 +1,20 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica and everything else to the primary. It must be
+ * wrapped in a LazyConnectionDataSourceProxy so that the connection is only fetched once the transaction
+ * read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadRoutingContext.isPrimaryForced()) {
+			return DataSourceRole.REPLICA;
+		}
+		return DataSourceRole.PRIMARY;
+	}
+}
@@ -0,0 +1,16 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.replica")
+public class ReplicaConfiguration {
+
+	private boolean enabled;
+	private long stalenessWindowMs;
+
+}
@@ -0,0 +1,34 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.upgradechallenge.volcanocamp.controller.GrpcServer;
+import com.upgradechallenge.volcanocamp.controller.ReservationsController;
+import com.upgradechallenge.volcanocamp.scheduler.InventoryProvisioningScheduler;
+import com.upgradechallenge.volcanocamp.scheduler.ReservationArchivalScheduler;
+import com.upgradechallenge.volcanocamp.scheduler.ReservationDatePruningScheduler;
+import com.upgradechallenge.volcanocamp.scheduler.WaitlistExpiryScheduler;
+import com.upgradechallenge.volcanocamp.service.PostgresReservationChangeChannel;
+import com.upgradechallenge.volcanocamp.service.ReservationService;
+
+/**
+ * Beans kept eager when spring.main.lazy-initialization is on (fast-startup profile). The booking path is built
+ * during startup so the first reservation request does not pay for it, schedulers must exist for their scheduled
+ * methods to be registered at all, the change channel must listen before the first change arrives and the gRPC
+ * server must be started to accept calls.
+ */
+@Configuration
+public class StartupConfiguration {
+
+	@Bean
+	public static LazyInitializationExcludeFilter eagerBookingPathFilter() {
+		return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class, ReservationService.class,
+				ReservationsController.class, ReservationArchivalScheduler.class, ReservationDatePruningScheduler.class,
+				InventoryProvisioningScheduler.class, WaitlistExpiryScheduler.class, PostgresReservationChangeChannel.class,
+				GrpcServer.class);
+	}
+}
@@ -0,0 +1,19 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.tracing")
+public class TracingConfiguration {
+
+	private boolean enabled;
+	private double samplingRatio;
+	private String exporter;
+	private String file;
+	private String otlpEndpoint;
+
+}
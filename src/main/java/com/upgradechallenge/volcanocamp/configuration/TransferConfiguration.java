@@ -0,0 +1,22 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "reservation.transfer")
+public class TransferConfiguration {
+
+	private boolean enabled;
+
+	@Min(1)
+	private int chunkSize;
+
+}
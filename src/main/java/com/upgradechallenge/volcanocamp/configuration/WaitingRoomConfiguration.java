@@ -0,0 +1,17 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.queue")
+public class WaitingRoomConfiguration {
+
+	private boolean enabled;
+	private int admissionsPerSecond;
+	private long admissionTtlMs;
+
+}
@@ -0,0 +1,34 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.upgradechallenge.volcanocamp.controller.WaitingRoomInterceptor;
+import com.upgradechallenge.volcanocamp.service.PartitionForwarder;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom;
+
+/**
+ * Puts the booking endpoints behind the waiting room when reservation.queue.enabled is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.queue", name = "enabled", havingValue = "true")
+public class WaitingRoomWebConfiguration implements WebMvcConfigurer {
+
+	@Autowired
+	WaitingRoom waitingRoom;
+
+	// Only present in the partitioned booking mode
+	@Autowired
+	ObjectProvider<PartitionForwarder> partitionForwarder;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new WaitingRoomInterceptor(waitingRoom, partitionForwarder.getIfAvailable()))
+				.addPathPatterns("/api/v1/reservations",
+				"/api/v1/reservations/*");
+	}
+}
@@ -0,0 +1,129 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.exception.GrpcExceptionTranslator;
+import com.upgradechallenge.volcanocamp.grpc.AvailableDates;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+import io.grpc.stub.ServerCallStreamObserver;
+
+/**
+ * Open WatchAvailableDates streams. Every watcher gets the available dates of its period when it subscribes and
+ * again whenever a committed change, of this instance or relayed by the change channel, touches that period. Loads
+ * and sends run one at a time on a single thread, in the order the subscriptions and changes arrived, so that a
+ * watcher never receives an older snapshot after a newer one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.grpc", name = "enabled", havingValue = "true")
+public class AvailabilityWatchers {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(AvailabilityWatchers.class);
+
+	private final Set<Watcher> watchers = ConcurrentHashMap.newKeySet();
+	private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "availability-watchers");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Registers a watcher and sends it the current available dates of its period.
+	 * 
+	 * @param startDate        (LocalDate) First date of the watched period
+	 * @param endDate          (LocalDate) Last date of the watched period, inclusive
+	 * @param responseObserver (ServerCallStreamObserver<AvailableDates>) Stream of the watcher
+	 * @param loader           (Supplier<AvailableDates>) Loads the available dates of the period
+	 */
+	public void watch(LocalDate startDate, LocalDate endDate, ServerCallStreamObserver<AvailableDates> responseObserver,
+			Supplier<AvailableDates> loader) {
+		Watcher watcher = new Watcher(DateRange.of(startDate, endDate.plusDays(1)), responseObserver, loader);
+		responseObserver.setOnCancelHandler(() -> watchers.remove(watcher));
+		watchers.add(watcher);
+
+		refresher.execute(() -> {
+			try {
+				watcher.send(loader.get());
+			} catch (RuntimeException e) {
+				watcher.fail(e);
+			}
+		});
+	}
+
+	@EventListener
+	public void onReservationChange(ReservationChangeNotification notification) {
+		refresher.execute(() -> refresh(notification));
+	}
+
+	@PreDestroy
+	public void stop() {
+		refresher.shutdownNow();
+	}
+
+	private void refresh(ReservationChangeNotification notification) {
+		// Watchers of the same period share one load
+		Map<DateRange, AvailableDates> loadedByPeriod = new HashMap<>();
+
+		for (Watcher watcher : watchers) {
+			if (!notification.isResync()
+					&& notification.getChangedRanges().stream().noneMatch(watcher.period::overlaps)) {
+				continue;
+			}
+			try {
+				AvailableDates availableDates = loadedByPeriod.get(watcher.period);
+				if (availableDates == null) {
+					availableDates = watcher.loader.get();
+					loadedByPeriod.put(watcher.period, availableDates);
+				}
+				watcher.send(availableDates);
+			} catch (RuntimeException e) {
+				watcher.fail(e);
+			}
+		}
+	}
+
+	private class Watcher {
+
+		private final DateRange period;
+		private final ServerCallStreamObserver<AvailableDates> responseObserver;
+		private final Supplier<AvailableDates> loader;
+
+		Watcher(DateRange period, ServerCallStreamObserver<AvailableDates> responseObserver,
+				Supplier<AvailableDates> loader) {
+			this.period = period;
+			this.responseObserver = responseObserver;
+			this.loader = loader;
+		}
+
+		// Sends and failures all run on the refresher thread, a stream observer must never be called concurrently
+		synchronized void send(AvailableDates availableDates) {
+			if (!responseObserver.isCancelled()) {
+				responseObserver.onNext(availableDates);
+			}
+		}
+
+		synchronized void fail(RuntimeException e) {
+			log.warn("Ending availability watch of {}: {}", period, e.getMessage());
+			watchers.remove(this);
+			if (!responseObserver.isCancelled()) {
+				responseObserver.onError(GrpcExceptionTranslator.toStatusException(e));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.GrpcConfiguration;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+
+/**
+ * Serves ReservationsGrpcService on its own port, next to the HTTP server. Calls are handled by a fixed pool of
+ * executorThreads threads and each connection is limited to maxConcurrentCallsPerConnection calls at once, open
+ * availability watches included, so that a partner cannot take over the instance. The server speaks TLS when
+ * certChainFile and privateKeyFile are set, and plaintext otherwise. It does not authenticate its callers: the port
+ * must only be reachable by the partners, e.g. through a proxy checking their client certificates.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.grpc", name = "enabled", havingValue = "true")
+public class GrpcServer {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(GrpcServer.class);
+
+	@Autowired
+	GrpcConfiguration grpcConfig;
+
+	@Autowired
+	ReservationsGrpcService reservationsGrpcService;
+
+	private Server server;
+	private ExecutorService executor;
+
+	@PostConstruct
+	public void start() {
+		executor = Executors.newFixedThreadPool(grpcConfig.getExecutorThreads(), runnable -> {
+			Thread thread = new Thread(runnable, "grpc-call");
+			thread.setDaemon(true);
+			return thread;
+		});
+		NettyServerBuilder serverBuilder = NettyServerBuilder.forPort(grpcConfig.getPort()).executor(executor)
+				.maxConcurrentCallsPerConnection(grpcConfig.getMaxConcurrentCallsPerConnection())
+				.addService(reservationsGrpcService);
+
+		boolean tls = grpcConfig.getCertChainFile() != null && !grpcConfig.getCertChainFile().isBlank();
+		if (tls) {
+			serverBuilder.useTransportSecurity(new File(grpcConfig.getCertChainFile()),
+					new File(grpcConfig.getPrivateKeyFile()));
+		}
+
+		try {
+			server = serverBuilder.build().start();
+		} catch (IOException e) {
+			executor.shutdownNow();
+			throw new IllegalStateException("Unable to start the gRPC server on port " + grpcConfig.getPort(), e);
+		}
+		if (tls) {
+			log.info("gRPC server listening on port {} with TLS", server.getPort());
+		} else {
+			log.warn("gRPC server listening on port {} in plaintext, set reservation.grpc.certChainFile and privateKeyFile to enable TLS",
+					server.getPort());
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		server.shutdown();
+		if (!server.awaitTermination(grpcConfig.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+			server.shutdownNow();
+		}
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.dto.ReservationPageDto;
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.service.ReservationService;
+import com.upgradechallenge.volcanocamp.utils.ReservationCursor;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Support lookups of the Reservations made with an email address. The answers hold the reservation ids, which are
+ * all it takes to update or cancel a Reservation: the endpoints are only registered with
+ * reservation.lookup.enabled=true, to be restricted to support staff upstream.
+ */
+@Tag(name = "Reservation lookup", description = "Support operations finding the reservations of a user.")
+@RestController
+@ConditionalOnProperty(prefix = "reservation.lookup", name = "enabled", havingValue = "true")
+public class ReservationLookupController {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationLookupController.class);
+
+	private static final String VALIDATION_ERROR_DATE_QUERY_PARAMS = "The check-in date must be before the check-out date";
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@GetMapping(value = "/api/v1/reservations", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Find Reservations of a user", description = "Fetch a page of Reservations made with the provided email (case insensitive), ordered by check-in date."
+			+ " Archived Reservations (cancelled or checked out, see reservation.archival) are included and flagged as archived."
+			+ " If boundaries are provided as parameters, only Reservations with a check-in date within those boundaries are returned."
+			+ " The nextCursor of a page is used as cursor parameter to fetch the following page.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Page of Reservations", content = {
+			@Content(mediaType = "application/json", schema = @Schema(implementation = ReservationPageDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content) })
+	public ResponseEntity<ReservationPageDto> getReservationsByUserEmail(
+			@RequestParam(value = "email", required = true) String email,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+		log.info("Handle fetching a page of reservations for a user email");
+
+		List<Reservation> reservations = this.reservationService.getReservationsByUserEmail(email, fromDate, toDate,
+				cursor, limit);
+
+		// A full page means there may be more, the next page starts right after its last Reservation
+		String nextCursor = reservations.size() == limit
+				? ReservationCursor.after(reservations.get(reservations.size() - 1)).encode()
+				: null;
+
+		ReservationPageDto pageDto = ReservationPageDto.builder()
+				.reservations(reservations.stream().map(this::convertModelToDto).collect(Collectors.toList()))
+				.nextCursor(nextCursor).build();
+
+		log.info("Response: {} reservations", reservations.size());
+
+		return ResponseEntity.ok(pageDto);
+	}
+
+	@GetMapping(value = "/api/v1/reservations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Stream Reservations of a user", description = "Stream all Reservations made with the provided email (case insensitive) as newline delimited JSON, ordered by check-in date."
+			+ " Archived Reservations (cancelled or checked out, see reservation.archival) are included and flagged as archived."
+			+ " If boundaries are provided as parameters, only Reservations with a check-in date within those boundaries are returned.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Reservations, one JSON document per line", content = {
+			@Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ReservationDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content) })
+	public ResponseEntity<StreamingResponseBody> streamReservationsByUserEmail(
+			@RequestParam(value = "email", required = true) String email,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate) {
+
+		log.info("Handle streaming reservations for a user email");
+
+		// Validate before the response starts streaming, errors cannot be reported once it did
+		if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
+		}
+
+		StreamingResponseBody body = outputStream -> {
+			this.reservationService.streamReservationsByUserEmail(email, fromDate, toDate, reservation -> {
+				try {
+					outputStream.write(objectMapper.writeValueAsBytes(convertModelToDto(reservation)));
+					outputStream.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			outputStream.flush();
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	private ReservationDto convertModelToDto(Reservation reservation) {
+		return ReservationDto.builder().userEmail(reservation.getUserEmail())
+				.userFullName(reservation.getUserFullName()).checkinDate(reservation.getCheckinDate().toString())
+				.checkoutDate(reservation.getCheckoutDate().toString()).id(reservation.getId())
+				.active(reservation.isActive()).archived(reservation.isArchived()).build();
+	}
+
+}
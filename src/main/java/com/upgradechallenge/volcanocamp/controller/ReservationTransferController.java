@@ -0,0 +1,234 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgradechallenge.volcanocamp.dto.ImportSummaryDto;
+import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.service.ReservationTransferService;
+import com.upgradechallenge.volcanocamp.service.ReservationTransferService.ImportSummary;
+import com.upgradechallenge.volcanocamp.utils.CsvLine;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Administration endpoints exporting and importing all reservations, with every guest's name and email. Only
+ * registered with reservation.transfer.enabled=true, to be restricted to administrators upstream.
+ */
+@Tag(name = "Reservation transfer", description = "Administration operations exporting and importing all reservations.")
+@RestController
+@ConditionalOnProperty(prefix = "reservation.transfer", name = "enabled", havingValue = "true")
+public class ReservationTransferController {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationTransferController.class);
+
+	public static final String TEXT_CSV_VALUE = "text/csv";
+
+	private static final String CSV_ID = "id";
+	private static final String CSV_NAME = "userFullName";
+	private static final String CSV_EMAIL = "userEmail";
+	private static final String CSV_CHECKIN_DATE = "checkinDate";
+	private static final String CSV_CHECKOUT_DATE = "checkoutDate";
+	private static final String CSV_ACTIVE = "active";
+	private static final String CSV_ARCHIVED = "archived";
+	private static final String CSV_HEADER = CsvLine.format(CSV_ID, CSV_NAME, CSV_EMAIL, CSV_CHECKIN_DATE,
+			CSV_CHECKOUT_DATE, CSV_ACTIVE, CSV_ARCHIVED);
+
+	private static final String VALIDATION_ERROR_CSV_HEADER = "The CSV file must start with a header line holding the columns %s, %s, %s and %s";
+	private static final String VALIDATION_ERROR_CSV_COLUMNS = "The record has %d values while the header has %d columns";
+	private static final String VALIDATION_ERROR_JSON = "The record is not a valid JSON document";
+	private static final String VALIDATION_ERROR_DATE = "The dates must be in yyyy-MM-dd format";
+
+	@Autowired
+	ReservationTransferService transferService;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@GetMapping(value = "/api/v1/admin/reservations", produces = TEXT_CSV_VALUE)
+	@Operation(summary = "Export all Reservations as CSV", description = "Stream every Reservation, cancelled and archived ones included, as CSV with a header line."
+			+ " The current Reservations come first, then the archived ones (archived column true), each ordered by id.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Reservations, one per line", content = {
+			@Content(mediaType = TEXT_CSV_VALUE) }) })
+	public ResponseEntity<StreamingResponseBody> exportReservationsAsCsv() {
+
+		log.info("Handle exporting all reservations as CSV");
+
+		StreamingResponseBody body = outputStream -> {
+			outputStream.write((CSV_HEADER + '\n').getBytes(StandardCharsets.UTF_8));
+			this.transferService.exportReservations(reservation -> {
+				try {
+					outputStream.write((CsvLine.format(reservation.getId().toString(), reservation.getUserFullName(),
+							reservation.getUserEmail(), reservation.getCheckinDate().toString(),
+							reservation.getCheckoutDate().toString(), String.valueOf(reservation.isActive()),
+							String.valueOf(reservation.isArchived())) + '\n').getBytes(StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			outputStream.flush();
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(TEXT_CSV_VALUE)).body(body);
+	}
+
+	@GetMapping(value = "/api/v1/admin/reservations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Export all Reservations as newline delimited JSON", description = "Stream every Reservation, cancelled and archived ones included, one JSON document per line."
+			+ " The current Reservations come first, then the archived ones (archived field true), each ordered by id.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Reservations, one JSON document per line", content = {
+			@Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ReservationDto.class)) }) })
+	public ResponseEntity<StreamingResponseBody> exportReservationsAsNdjson() {
+
+		log.info("Handle exporting all reservations as newline delimited JSON");
+
+		StreamingResponseBody body = outputStream -> {
+			this.transferService.exportReservations(reservation -> {
+				try {
+					outputStream.write(objectMapper.writeValueAsBytes(convertModelToDto(reservation)));
+					outputStream.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			outputStream.flush();
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@PostMapping(value = "/api/v1/admin/reservations", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Import Reservations from CSV", description = "Import Reservations from CSV with a header line naming the columns userFullName, userEmail, checkinDate, checkoutDate and optionally active (true if missing)."
+			+ " Other columns, such as the id and archived flag of an exported file, are ignored and new ids are assigned. Active Reservations overlapping occupied dates are left out.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Import summary", content = {
+			@Content(mediaType = "application/json", schema = @Schema(implementation = ImportSummaryDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request (missing header line)", content = @Content),
+			@ApiResponse(responseCode = "405", description = "Method not allowed (booking mode without a reservationdate table)", content = @Content) })
+	public ResponseEntity<ImportSummaryDto> importReservationsFromCsv(InputStream body) throws IOException {
+
+		log.info("Handle importing reservations from CSV");
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+			Map<String, Integer> columns = readCsvHeader(reader.readLine());
+			ImportSummary summary = this.transferService.importReservations(reader.lines(),
+					record -> parseCsvRecord(columns, record));
+
+			return ResponseEntity.ok(convertSummaryToDto(summary));
+		}
+	}
+
+	@PostMapping(value = "/api/v1/admin/reservations", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Import Reservations from newline delimited JSON", description = "Import Reservations from one JSON document per line with the fields userFullName, userEmail, checkinDate, checkoutDate and optionally active (true if missing)."
+			+ " Other fields, such as the id and archived flag of an exported file, are ignored and new ids are assigned. Active Reservations overlapping occupied dates are left out.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Import summary", content = {
+			@Content(mediaType = "application/json", schema = @Schema(implementation = ImportSummaryDto.class)) }),
+			@ApiResponse(responseCode = "405", description = "Method not allowed (booking mode without a reservationdate table)", content = @Content) })
+	public ResponseEntity<ImportSummaryDto> importReservationsFromNdjson(InputStream body) throws IOException {
+
+		log.info("Handle importing reservations from newline delimited JSON");
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+			ImportSummary summary = this.transferService.importReservations(reader.lines(), this::parseJsonRecord);
+
+			return ResponseEntity.ok(convertSummaryToDto(summary));
+		}
+	}
+
+	private Map<String, Integer> readCsvHeader(String headerLine) {
+		Map<String, Integer> columns = new HashMap<>();
+		if (headerLine != null) {
+			List<String> names = CsvLine.parse(headerLine);
+			for (int i = 0; i < names.size(); i++) {
+				columns.put(names.get(i).trim(), i);
+			}
+		}
+		if (!columns.keySet().containsAll(List.of(CSV_NAME, CSV_EMAIL, CSV_CHECKIN_DATE, CSV_CHECKOUT_DATE))) {
+			throw new BadRequestException(String.format(VALIDATION_ERROR_CSV_HEADER, CSV_NAME, CSV_EMAIL,
+					CSV_CHECKIN_DATE, CSV_CHECKOUT_DATE));
+		}
+		return columns;
+	}
+
+	private Reservation parseCsvRecord(Map<String, Integer> columns, String record) {
+		List<String> values = CsvLine.parse(record);
+		int headerColumns = Collections.max(columns.values()) + 1;
+		if (values.size() != headerColumns) {
+			throw new BadRequestException(String.format(VALIDATION_ERROR_CSV_COLUMNS, values.size(), headerColumns));
+		}
+		Function<String, String> column = name -> columns.containsKey(name) ? values.get(columns.get(name)) : null;
+		String active = column.apply(CSV_ACTIVE);
+
+		return Reservation.builder().userFullName(column.apply(CSV_NAME)).userEmail(column.apply(CSV_EMAIL))
+				.checkinDate(parseDate(column.apply(CSV_CHECKIN_DATE)))
+				.checkoutDate(parseDate(column.apply(CSV_CHECKOUT_DATE)))
+				.active(active == null || active.isBlank() || Boolean.parseBoolean(active.trim())).build();
+	}
+
+	private Reservation parseJsonRecord(String record) {
+		try {
+			JsonNode node = objectMapper.readTree(record);
+			ReservationDto reservationDto = objectMapper.treeToValue(node, ReservationDto.class);
+
+			return Reservation.builder().userFullName(reservationDto.getUserFullName())
+					.userEmail(reservationDto.getUserEmail()).checkinDate(parseDate(reservationDto.getCheckinDate()))
+					.checkoutDate(parseDate(reservationDto.getCheckoutDate()))
+					.active(node.path(CSV_ACTIVE).asBoolean(true)).build();
+		} catch (JsonProcessingException e) {
+			throw new BadRequestException(VALIDATION_ERROR_JSON);
+		}
+	}
+
+	private LocalDate parseDate(String date) {
+		if (date == null || date.isBlank()) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(date.trim());
+		} catch (DateTimeParseException e) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE);
+		}
+	}
+
+	private ImportSummaryDto convertSummaryToDto(ImportSummary summary) {
+		return ImportSummaryDto.builder().imported(summary.getImported()).conflicting(summary.getConflicting())
+				.invalid(summary.getInvalid()).errors(summary.getErrors()).build();
+	}
+
+	private ReservationDto convertModelToDto(Reservation reservation) {
+		return ReservationDto.builder().userEmail(reservation.getUserEmail())
+				.userFullName(reservation.getUserFullName()).checkinDate(reservation.getCheckinDate().toString())
+				.checkoutDate(reservation.getCheckoutDate().toString()).id(reservation.getId())
+				.active(reservation.isActive()).archived(reservation.isArchived()).build();
+	}
+
+}
@@ -1,7 +1,11 @@
 package com.upgradechallenge.volcanocamp.controller;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
@@ -20,11 +24,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.upgradechallenge.volcanocamp.dto.AvailabilityBitmaskDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableCapacityDto;
 import com.upgradechallenge.volcanocamp.dto.AvailableDatesDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableWindowDto;
+import com.upgradechallenge.volcanocamp.dto.AvailableWindowsDto;
+import com.upgradechallenge.volcanocamp.dto.DateCapacityDto;
 import com.upgradechallenge.volcanocamp.dto.ReservationDto;
 import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.monitoring.Tracing;
 import com.upgradechallenge.volcanocamp.service.ReservationService;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
 
+import io.opentelemetry.api.trace.Span;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -38,6 +50,8 @@ public class ReservationsController {
 
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationsController.class);
 
+	public static final String AVAILABILITY_BITMASK_JSON_VALUE = "application/vnd.volcanocamp.availability-bitmask+json";
+
 	@Autowired
 	ReservationService reservationService;
 
@@ -51,18 +65,10 @@ public class ReservationsController {
 			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
 			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate) {
 
-		LocalDate minAvailableDate = LocalDate.now().plusDays(1);
-		LocalDate maxAvailableDate = LocalDate.now().plusMonths(1);
-
 		log.info("Handle fetching all available reservation dates provided time period");
 
-		// Default start to today + 1 day and end to today + 1 month if not provided
-		// and if fromDate < minAvailableDate or toDate > maxAvailableDate
-		LocalDate startDate = (fromDate == null || fromDate.isBefore(minAvailableDate)) ? minAvailableDate : fromDate;
-		LocalDate endDate = (toDate == null || toDate.isAfter(maxAvailableDate)) ? maxAvailableDate : toDate;
-
-		log.info("Start date provided (or adjusted to minimimum possible start date): {}", startDate);
-		log.info("End date provided (or adjusted to maximum possible end date): {}", endDate);
+		LocalDate startDate = adjustStartDate(fromDate);
+		LocalDate endDate = adjustEndDate(toDate);
 
 		List<LocalDate> availableDates = this.reservationService.getAllAvailableDates(startDate, endDate);
 
@@ -74,6 +80,114 @@ public class ReservationsController {
 		return ResponseEntity.ok(datesDto);
 	}
 
+	@GetMapping(value = "/api/v1/available-dates", produces = AVAILABILITY_BITMASK_JSON_VALUE)
+	@Operation(summary = "Get available dates as a bitmask", description = "Get the availability of every date of the period as a base64 bitmask."
+			+ " Bit i (least significant bit first, byte i / 8) is set if fromDate + i days is available."
+			+ " If boundaries are provided as parameters, the dates will be limited to those boundaries.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Availabilities", content = {
+			@Content(mediaType = AVAILABILITY_BITMASK_JSON_VALUE, schema = @Schema(implementation = AvailabilityBitmaskDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content) })
+	public ResponseEntity<AvailabilityBitmaskDto> getAvailabilityBitmask(
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate) {
+
+		log.info("Handle fetching the availability bitmask provided time period");
+
+		LocalDate startDate = adjustStartDate(fromDate);
+		LocalDate endDate = adjustEndDate(toDate);
+
+		byte[] bitmask = this.reservationService.getAvailabilityBitmask(startDate, endDate);
+
+		AvailabilityBitmaskDto bitmaskDto = AvailabilityBitmaskDto.builder().fromDate(startDate).toDate(endDate)
+				.days((int) ChronoUnit.DAYS.between(startDate, endDate) + 1)
+				.bitmask(Base64.getEncoder().encodeToString(bitmask)).build();
+
+		return ResponseEntity.ok(bitmaskDto);
+	}
+
+	@GetMapping(value = "/api/v1/available-dates", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	@Operation(summary = "Get available dates as a raw bitmask", description = "Get the availability of every date of the period in binary form:"
+			+ " fromDate as a 4 bytes big-endian epoch day, the number of dates as a 2 bytes big-endian integer, then the bitmask where"
+			+ " bit i (least significant bit first, byte i / 8) is set if fromDate + i days is available."
+			+ " If boundaries are provided as parameters, the dates will be limited to those boundaries.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Availabilities", content = {
+			@Content(mediaType = "application/octet-stream") }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content) })
+	public ResponseEntity<byte[]> getAvailabilityBitmaskBinary(
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate) {
+
+		log.info("Handle fetching the binary availability bitmask provided time period");
+
+		LocalDate startDate = adjustStartDate(fromDate);
+		LocalDate endDate = adjustEndDate(toDate);
+
+		byte[] bitmask = this.reservationService.getAvailabilityBitmask(startDate, endDate);
+
+		ByteBuffer body = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + bitmask.length);
+		body.putInt((int) startDate.toEpochDay());
+		body.putShort((short) (ChronoUnit.DAYS.between(startDate, endDate) + 1));
+		body.put(bitmask);
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(body.array());
+	}
+
+	@GetMapping(value = "/api/v1/available-capacity", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Get remaining capacity", description = "Get the number of pitches still free on every date of the period."
+			+ " If boundaries are provided as parameters, the dates will be limited to those boundaries.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Remaining capacity", content = {
+			@Content(mediaType = "application/json", schema = @Schema(implementation = AvailableCapacityDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content) })
+	public ResponseEntity<AvailableCapacityDto> getRemainingCapacity(
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate) {
+
+		log.info("Handle fetching the remaining capacity provided time period");
+
+		LocalDate startDate = adjustStartDate(fromDate);
+		LocalDate endDate = adjustEndDate(toDate);
+
+		AvailableCapacityDto capacityDto = AvailableCapacityDto.builder().fromDate(startDate).toDate(endDate)
+				.dates(this.reservationService.getRemainingCapacity(startDate, endDate).entrySet().stream()
+						.map(entry -> DateCapacityDto.builder().date(entry.getKey()).remaining(entry.getValue()).build())
+						.collect(Collectors.toList()))
+				.build();
+
+		return ResponseEntity.ok(capacityDto);
+	}
+
+	@GetMapping(value = "/api/v1/available-windows", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Search bookable stays", description = "Get every stay of the requested number of nights that can currently be booked,"
+			+ " earliest check-in first. If boundaries are provided as parameters, the stays will be limited to those boundaries.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Bookable stays", content = {
+			@Content(mediaType = "application/json", schema = @Schema(implementation = AvailableWindowsDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content) })
+	public ResponseEntity<AvailableWindowsDto> getAvailableWindows(
+			@RequestParam(value = "nights") int nights,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate toDate,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+
+		log.info("Handle searching bookable stays of {} nights provided time period", nights);
+
+		LocalDate startDate = adjustStartDate(fromDate);
+		LocalDate endDate = adjustEndDate(toDate);
+
+		List<DateRange> windows = this.reservationService.getAvailableWindows(startDate, endDate, nights,
+				limit == null ? Integer.MAX_VALUE : limit);
+
+		AvailableWindowsDto windowsDto = AvailableWindowsDto.builder().fromDate(startDate).toDate(endDate).nights(nights)
+				.windows(windows.stream()
+						.map(window -> AvailableWindowDto.builder().checkinDate(window.getStart())
+								.checkoutDate(window.getEnd()).build())
+						.collect(Collectors.toList()))
+				.build();
+
+		log.info("Response: {} bookable stays", windows.size());
+
+		return ResponseEntity.ok(windowsDto);
+	}
+
 	@PostMapping(value = "/api/v1/reservations", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
 	@Operation(summary = "Create a new Reservation", description = "Reserve a stay at the camp by submitting a Reservation with valid booking dates, email and full name"
 			+ "If boundaries are provided as parameters, the dates will be limited to those boundaries.")
@@ -86,7 +200,9 @@ public class ReservationsController {
 		log.info("Handle submitting a new reservation");
 
 		Reservation reservation = convertDtoToModel(reservationDto);
+		recordRequestedDates(reservation);
 		reservation = this.reservationService.createNewReservation(reservation);
+		Tracing.recordOutcome("booked");
 
 		log.info("Response: {}", reservation);
 
@@ -118,14 +234,17 @@ public class ReservationsController {
 			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
 			@ApiResponse(responseCode = "409", description = "Conflict (Reservation has overlapping dates with another reservation(s))", content = @Content),
 			@ApiResponse(responseCode = "404", description = "Not found (Reservation with provided id does not exist)", content = @Content),
-			@ApiResponse(responseCode = "405", description = "Method not allowed found (Reservation cannot be updated since it has been cancelled)", content = @Content)})
+			@ApiResponse(responseCode = "405", description = "Method not allowed found (Reservation cannot be updated since it has been cancelled)", content = @Content),
+			@ApiResponse(responseCode = "410", description = "Gone (Reservation has been archived and can no longer be modified)", content = @Content)})
 	public ResponseEntity<ReservationDto> updateReservation(@PathVariable(required = true) String id,
 			@RequestBody @Valid ReservationDto reservationDto) {
 
 		log.info("Handle updating a reservation provided the id: {}", id);
 
 		Reservation reservation = convertDtoToModel(reservationDto);
+		recordRequestedDates(reservation);
 		reservation = this.reservationService.updateReservation(id, reservation);
+		Tracing.recordOutcome("updated");
 
 		log.info("Response: {}", reservation);
 
@@ -138,7 +257,9 @@ public class ReservationsController {
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "204", description = "Reservation cancelled successfully", content = @Content),
 			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
-			@ApiResponse(responseCode = "404", description = "Not found (Reservation with provided id does not exist)", content = @Content) })
+			@ApiResponse(responseCode = "404", description = "Not found (Reservation with provided id does not exist)", content = @Content),
+			@ApiResponse(responseCode = "405", description = "Method not allowed (Reservation has already been cancelled)", content = @Content),
+			@ApiResponse(responseCode = "410", description = "Gone (Reservation has been archived and can no longer be modified)", content = @Content) })
 	public ResponseEntity<Void> cancelReservation(@PathVariable(required = true) String id) {
 
 		log.info("Handle cancelling of a reservation provided the id: {}", id);
@@ -150,6 +271,27 @@ public class ReservationsController {
 		return ResponseEntity.noContent().build();
 	}
 
+	// Default start to today + 1 day if not provided or if fromDate < minAvailableDate
+	private LocalDate adjustStartDate(LocalDate fromDate) {
+		LocalDate minAvailableDate = LocalDate.now().plusDays(1);
+		LocalDate startDate = (fromDate == null || fromDate.isBefore(minAvailableDate)) ? minAvailableDate : fromDate;
+		log.info("Start date provided (or adjusted to minimimum possible start date): {}", startDate);
+		return startDate;
+	}
+
+	// Default end to today + 1 month if not provided or if toDate > maxAvailableDate
+	private LocalDate adjustEndDate(LocalDate toDate) {
+		LocalDate maxAvailableDate = LocalDate.now().plusMonths(1);
+		LocalDate endDate = (toDate == null || toDate.isAfter(maxAvailableDate)) ? maxAvailableDate : toDate;
+		log.info("End date provided (or adjusted to maximum possible end date): {}", endDate);
+		return endDate;
+	}
+
+	private void recordRequestedDates(Reservation reservation) {
+		Span.current().setAttribute(Tracing.CHECKIN_DATE, reservation.getCheckinDate().toString());
+		Span.current().setAttribute(Tracing.CHECKOUT_DATE, reservation.getCheckoutDate().toString());
+	}
+
 	private Reservation convertDtoToModel(ReservationDto reservationDto) {
 		return Reservation.builder().userEmail(reservationDto.getUserEmail())
 				.userFullName(reservationDto.getUserFullName())
@@ -161,7 +303,7 @@ public class ReservationsController {
 		return ReservationDto.builder().userEmail(reservation.getUserEmail())
 				.userFullName(reservation.getUserFullName()).checkinDate(reservation.getCheckinDate().toString())
 				.checkoutDate(reservation.getCheckoutDate().toString()).id(reservation.getId())
-				.active(reservation.isActive()).build();
+				.active(reservation.isActive()).archived(reservation.isArchived()).build();
 	}
 
 }
@@ -0,0 +1,239 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.exception.GrpcExceptionTranslator;
+import com.upgradechallenge.volcanocamp.grpc.AvailableDates;
+import com.upgradechallenge.volcanocamp.grpc.AvailableDatesRequest;
+import com.upgradechallenge.volcanocamp.grpc.BookingResult;
+import com.upgradechallenge.volcanocamp.grpc.ReservationIdRequest;
+import com.upgradechallenge.volcanocamp.grpc.ReservationMessage;
+import com.upgradechallenge.volcanocamp.grpc.ReservationsGrpc;
+import com.upgradechallenge.volcanocamp.grpc.UpdateReservationRequest;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.service.ReservationService;
+import com.upgradechallenge.volcanocamp.utils.ReservationDatesValidator;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * gRPC counterpart of ReservationsController for partner integrations. Requests are protobuf messages validated
+ * with the rules of ReservationDto (ReservationDatesValidator for the dates, the constraints of its userEmail field
+ * for the email) without going through Jackson, and served by the same ReservationService.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.grpc", name = "enabled", havingValue = "true")
+public class ReservationsGrpcService extends ReservationsGrpc.ReservationsImplBase {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationsGrpcService.class);
+
+	private static final String VALIDATION_ERROR_DATE_QUERY_PARAMS = "The check-in date must be before the check-out date";
+	private static final String VALIDATION_ERROR_DATE_FORMAT = "Dates must have valid format: yyyy-MM-dd";
+	private static final String VALIDATION_ERROR_NAME = "Name must not be empty";
+	private static final String VALIDATION_ERROR_RESERVATION = "The reservation must be provided";
+	private static final String USER_EMAIL_PROPERTY = "userEmail";
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	AvailabilityWatchers availabilityWatchers;
+
+	@Autowired
+	AutowireCapableBeanFactory beanFactory;
+
+	@Autowired
+	Validator validator;
+
+	ReservationDatesValidator datesValidator;
+
+	@PostConstruct
+	void createDatesValidator() {
+		datesValidator = beanFactory.createBean(ReservationDatesValidator.class);
+	}
+
+	@Override
+	public void getAvailableDates(AvailableDatesRequest request, StreamObserver<AvailableDates> responseObserver) {
+		respond(responseObserver, () -> {
+			LocalDate startDate = adjustStartDate(parseOptionalDate(request.getFromDate()));
+			LocalDate endDate = adjustEndDate(parseOptionalDate(request.getToDate()));
+			return loadAvailableDates(startDate, endDate);
+		});
+	}
+
+	@Override
+	public void watchAvailableDates(AvailableDatesRequest request, StreamObserver<AvailableDates> responseObserver) {
+		LocalDate startDate;
+		LocalDate endDate;
+		try {
+			startDate = adjustStartDate(parseOptionalDate(request.getFromDate()));
+			endDate = adjustEndDate(parseOptionalDate(request.getToDate()));
+			if (startDate.isAfter(endDate)) {
+				throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
+			}
+		} catch (BadRequestException e) {
+			responseObserver.onError(GrpcExceptionTranslator.toStatusException(e));
+			return;
+		}
+
+		availabilityWatchers.watch(startDate, endDate, (ServerCallStreamObserver<AvailableDates>) responseObserver,
+				() -> loadAvailableDates(startDate, endDate));
+	}
+
+	@Override
+	public void createReservation(ReservationMessage request, StreamObserver<ReservationMessage> responseObserver) {
+		respond(responseObserver, () -> createReservation(request));
+	}
+
+	@Override
+	public void getReservation(ReservationIdRequest request, StreamObserver<ReservationMessage> responseObserver) {
+		respond(responseObserver, () -> convertModelToMessage(reservationService.getReservationById(request.getId())));
+	}
+
+	@Override
+	public void updateReservation(UpdateReservationRequest request,
+			StreamObserver<ReservationMessage> responseObserver) {
+		respond(responseObserver, () -> {
+			if (!request.hasReservation()) {
+				throw new BadRequestException(VALIDATION_ERROR_RESERVATION);
+			}
+			Reservation reservation = convertMessageToModel(request.getReservation());
+			return convertModelToMessage(reservationService.updateReservation(request.getId(), reservation));
+		});
+	}
+
+	@Override
+	public void cancelReservation(ReservationIdRequest request, StreamObserver<ReservationMessage> responseObserver) {
+		respond(responseObserver, () -> convertModelToMessage(reservationService.cancelReservation(request.getId())));
+	}
+
+	/**
+	 * Books the Reservations of the stream one after the other, each in its own transaction, answering every one of
+	 * them in order. A failed booking is reported in its result and does not end the stream.
+	 */
+	@Override
+	public StreamObserver<ReservationMessage> bookReservations(StreamObserver<BookingResult> responseObserver) {
+		return new StreamObserver<ReservationMessage>() {
+
+			@Override
+			public void onNext(ReservationMessage request) {
+				BookingResult result;
+				try {
+					result = BookingResult.newBuilder().setReservation(createReservation(request)).build();
+				} catch (RuntimeException e) {
+					Status status = GrpcExceptionTranslator.toStatus(e);
+					result = BookingResult.newBuilder().setErrorCode(status.getCode().name())
+							.setErrorMessage(status.getDescription()).build();
+				}
+				responseObserver.onNext(result);
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				log.debug("Bulk booking stream ended by the client: {}", Status.fromThrowable(t));
+			}
+
+			@Override
+			public void onCompleted() {
+				responseObserver.onCompleted();
+			}
+		};
+	}
+
+	private ReservationMessage createReservation(ReservationMessage request) {
+		Reservation reservation = convertMessageToModel(request);
+		return convertModelToMessage(reservationService.createNewReservation(reservation));
+	}
+
+	private AvailableDates loadAvailableDates(LocalDate startDate, LocalDate endDate) {
+		return AvailableDates.newBuilder().setFromDate(startDate.toString()).setToDate(endDate.toString())
+				.addAllAvailableDates(reservationService.getAllAvailableDates(startDate, endDate).stream()
+						.map(LocalDate::toString).collect(Collectors.toList()))
+				.build();
+	}
+
+	private <T> void respond(StreamObserver<T> responseObserver, Supplier<T> call) {
+		T response;
+		try {
+			response = call.get();
+		} catch (RuntimeException e) {
+			responseObserver.onError(GrpcExceptionTranslator.toStatusException(e));
+			return;
+		}
+		responseObserver.onNext(response);
+		responseObserver.onCompleted();
+	}
+
+	// Same defaults and bounds as the REST API: from tomorrow, up to one month from today
+	private LocalDate adjustStartDate(LocalDate fromDate) {
+		LocalDate minAvailableDate = LocalDate.now().plusDays(1);
+		return (fromDate == null || fromDate.isBefore(minAvailableDate)) ? minAvailableDate : fromDate;
+	}
+
+	private LocalDate adjustEndDate(LocalDate toDate) {
+		LocalDate maxAvailableDate = LocalDate.now().plusMonths(1);
+		return (toDate == null || toDate.isAfter(maxAvailableDate)) ? maxAvailableDate : toDate;
+	}
+
+	private LocalDate parseOptionalDate(String date) {
+		if (date.isEmpty()) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(date);
+		} catch (DateTimeParseException e) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_FORMAT);
+		}
+	}
+
+	private Reservation convertMessageToModel(ReservationMessage message) {
+		if (message.getUserFullName().isBlank()) {
+			throw new BadRequestException(VALIDATION_ERROR_NAME);
+		}
+		Set<ConstraintViolation<ReservationDto>> emailViolations = validator.validateValue(ReservationDto.class,
+				USER_EMAIL_PROPERTY, message.getUserEmail());
+		if (!emailViolations.isEmpty()) {
+			throw new BadRequestException(emailViolations.iterator().next().getMessage());
+		}
+		// Unset proto3 strings are empty, reported as missing dates like null DTO fields
+		String violation = datesValidator.findViolation(emptyToNull(message.getCheckinDate()),
+				emptyToNull(message.getCheckoutDate()));
+		if (violation != null) {
+			throw new BadRequestException(violation);
+		}
+
+		return Reservation.builder().userEmail(message.getUserEmail()).userFullName(message.getUserFullName())
+				.checkinDate(LocalDate.parse(message.getCheckinDate()))
+				.checkoutDate(LocalDate.parse(message.getCheckoutDate())).build();
+	}
+
+	private String emptyToNull(String value) {
+		return value.isEmpty() ? null : value;
+	}
+
+	private ReservationMessage convertModelToMessage(Reservation reservation) {
+		return ReservationMessage.newBuilder().setId(reservation.getId().toString()).setActive(reservation.isActive())
+				.setUserFullName(reservation.getUserFullName()).setUserEmail(reservation.getUserEmail())
+				.setCheckinDate(reservation.getCheckinDate().toString())
+				.setCheckoutDate(reservation.getCheckoutDate().toString()).build();
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.upgradechallenge.volcanocamp.dto.QueuePositionDto;
+import com.upgradechallenge.volcanocamp.exception.ResourceNotFoundException;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom.QueuePosition;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Waiting room", description = "Queue of the booking requests during rushes.")
+@RestController
+@ConditionalOnProperty(prefix = "reservation.queue", name = "enabled", havingValue = "true")
+public class WaitingRoomController {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(WaitingRoomController.class);
+
+	@Autowired
+	WaitingRoom waitingRoom;
+
+	@GetMapping(value = "/api/v1/waiting-room/{token}", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Fetch a queue position", description = "Fetch the position of a queue token handed out by a 429 answer of the booking endpoints."
+			+ " Once admitted, the booking request is to be sent again with the token in the X-Queue-Token header.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Position of the queue token", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = QueuePositionDto.class)) }),
+			@ApiResponse(responseCode = "404", description = "Not found (Unknown or lapsed queue token)", content = @Content) })
+	public ResponseEntity<QueuePositionDto> getPosition(@PathVariable(required = true) UUID token) {
+
+		log.debug("Handle fetching of the queue position of token: {}", token);
+
+		QueuePosition queuePosition = waitingRoom.poll(token);
+		if (queuePosition == null) {
+			throw new ResourceNotFoundException("Queue token", token.toString());
+		}
+
+		return ResponseEntity.ok(QueuePositionDto.builder().token(queuePosition.getToken())
+				.position(queuePosition.getPosition()).admitted(queuePosition.isAdmitted())
+				.waitSeconds(queuePosition.getWaitSeconds()).build());
+	}
+}
@@ -0,0 +1,66 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.upgradechallenge.volcanocamp.exception.QueuedRequestException;
+import com.upgradechallenge.volcanocamp.service.PartitionForwarder;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom.QueuePosition;
+
+/**
+ * Holds booking requests (reservation creations and updates) in the waiting room until their queue token is
+ * admitted. In the partitioned booking mode, requests forwarded by another cluster member were admitted there and go
+ * straight through once their signature is verified, the others are queued whatever headers they carry.
+ */
+public class WaitingRoomInterceptor implements HandlerInterceptor {
+
+	public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+	private final WaitingRoom waitingRoom;
+	private final PartitionForwarder partitionForwarder;
+
+	/**
+	 * @param waitingRoom (WaitingRoom) Waiting room holding the booking requests
+	 * @param partitionForwarder (PartitionForwarder) Verifier of the forwarded requests, null unless the booking mode
+	 *        is partitioned
+	 */
+	public WaitingRoomInterceptor(WaitingRoom waitingRoom, PartitionForwarder partitionForwarder) {
+		this.waitingRoom = waitingRoom;
+		this.partitionForwarder = partitionForwarder;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		String method = request.getMethod();
+		if (!HttpMethod.POST.matches(method) && !HttpMethod.PATCH.matches(method)) {
+			return true;
+		}
+		if (partitionForwarder != null && partitionForwarder.isSignedForward(request)) {
+			return true;
+		}
+
+		QueuePosition queuePosition = waitingRoom.enter(parseToken(request.getHeader(QUEUE_TOKEN_HEADER)));
+		if (!queuePosition.isAdmitted()) {
+			throw new QueuedRequestException(queuePosition);
+		}
+		return true;
+	}
+
+	// A malformed token is treated as no token, the request joins the queue
+	private UUID parseToken(String token) {
+		if (token == null) {
+			return null;
+		}
+		try {
+			return UUID.fromString(token);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
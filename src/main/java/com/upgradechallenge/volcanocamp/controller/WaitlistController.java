@@ -0,0 +1,96 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import java.time.LocalDate;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.dto.WaitlistEntryDto;
+import com.upgradechallenge.volcanocamp.model.WaitlistEntry;
+import com.upgradechallenge.volcanocamp.service.WaitlistService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Waitlist", description = "Operations pertaining to stays waiting for taken dates to be released.")
+@RestController
+public class WaitlistController {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(WaitlistController.class);
+
+	@Autowired
+	WaitlistService waitlistService;
+
+	@PostMapping(value = "/api/v1/waitlist", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Join the waitlist", description = "Register a stay whose dates are currently taken."
+			+ " The stay is booked automatically when cancellations or updates release its dates, waiting stays being served in registration order.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "201", description = "Waitlist entry created", content = {
+			@Content(mediaType = "application/json", schema = @Schema(implementation = WaitlistEntryDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
+			@ApiResponse(responseCode = "409", description = "Conflict (every date of the stay is available, book it instead)", content = @Content) })
+	public ResponseEntity<WaitlistEntryDto> registerEntry(@RequestBody @Valid ReservationDto reservationDto) {
+
+		log.info("Handle registering a new waitlist entry");
+
+		WaitlistEntry entry = waitlistService.registerEntry(WaitlistEntry.builder()
+				.userFullName(reservationDto.getUserFullName()).userEmail(reservationDto.getUserEmail())
+				.checkinDate(LocalDate.parse(reservationDto.getCheckinDate()))
+				.checkoutDate(LocalDate.parse(reservationDto.getCheckoutDate())).build());
+
+		log.info("Response: {}", entry);
+
+		return new ResponseEntity<WaitlistEntryDto>(convertModelToDto(entry), HttpStatus.CREATED);
+	}
+
+	@GetMapping(value = "/api/v1/waitlist/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Fetch a waitlist entry", description = "Fetch a waitlist entry by providing a valid UUID, showing whether it was promoted to a Reservation")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Waitlist entry with the matching provided id", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = WaitlistEntryDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
+			@ApiResponse(responseCode = "404", description = "Not found (Waitlist entry with provided id does not exist)", content = @Content) })
+	public ResponseEntity<WaitlistEntryDto> getEntry(@PathVariable(required = true) String id) {
+
+		log.info("Handle fetching of a waitlist entry provided the id: {}", id);
+
+		return ResponseEntity.ok(convertModelToDto(waitlistService.getEntryById(id)));
+	}
+
+	@DeleteMapping(value = "/api/v1/waitlist/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Leave the waitlist", description = "Withdraw a waitlist entry by providing a valid UUID")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "204", description = "Waitlist entry withdrawn", content = @Content),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
+			@ApiResponse(responseCode = "404", description = "Not found (Waitlist entry with provided id does not exist)", content = @Content) })
+	public ResponseEntity<Void> withdrawEntry(@PathVariable(required = true) String id) {
+
+		log.info("Handle withdrawing of a waitlist entry provided the id: {}", id);
+
+		waitlistService.withdrawEntry(id);
+
+		return ResponseEntity.noContent().build();
+	}
+
+	private WaitlistEntryDto convertModelToDto(WaitlistEntry entry) {
+		return WaitlistEntryDto.builder().id(entry.getId()).status(entry.getStatus())
+				.reservationId(entry.getReservationId()).userFullName(entry.getUserFullName())
+				.userEmail(entry.getUserEmail()).checkinDate(entry.getCheckinDate().toString())
+				.checkoutDate(entry.getCheckoutDate().toString()).build();
+	}
+}
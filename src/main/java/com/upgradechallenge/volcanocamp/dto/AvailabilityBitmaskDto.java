@@ -0,0 +1,30 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class AvailabilityBitmaskDto {
+
+	@Schema(description = "Check-in date", format = "yyyy-MM-dd")
+	private LocalDate fromDate;
+
+	@Schema(description = "Check-out date", format = "yyyy-MM-dd")
+	private LocalDate toDate;
+
+	@Schema(description = "Number of dates covered by the bitmask")
+	private int days;
+
+	@Schema(description = "Base64 bitmask, bit i (least significant bit first, byte i / 8) is set if fromDate + i days is available")
+	private String bitmask;
+
+}
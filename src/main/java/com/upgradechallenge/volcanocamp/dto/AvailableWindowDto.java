@@ -0,0 +1,24 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class AvailableWindowDto {
+
+	@Schema(description = "Check-in date", format = "yyyy-MM-dd")
+	private LocalDate checkinDate;
+
+	@Schema(description = "Check-out date", format = "yyyy-MM-dd")
+	private LocalDate checkoutDate;
+
+}
@@ -0,0 +1,31 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class AvailableWindowsDto {
+
+	@Schema(description = "Earliest check-in date", format = "yyyy-MM-dd")
+	private LocalDate fromDate;
+
+	@Schema(description = "Latest night of a stay", format = "yyyy-MM-dd")
+	private LocalDate toDate;
+
+	@Schema(description = "Number of nights of the stays")
+	private int nights;
+
+	@Schema(description = "Bookable stays, earliest check-in first")
+	private List<AvailableWindowDto> windows;
+
+}
@@ -0,0 +1,24 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class DateCapacityDto {
+
+	@Schema(description = "Date", format = "yyyy-MM-dd")
+	private LocalDate date;
+
+	@Schema(description = "Number of pitches still free on the date")
+	private int remaining;
+
+}
@@ -0,0 +1,30 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class ImportSummaryDto {
+
+	@Schema(description = "Reservations imported")
+	private long imported;
+
+	@Schema(description = "Active reservations left out because they overlap occupied dates")
+	private long conflicting;
+
+	@Schema(description = "Malformed or invalid records left out")
+	private long invalid;
+
+	@Schema(description = "Reasons of the records left out, the first hundred only")
+	private List<String> errors;
+
+}
@@ -0,0 +1,30 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class QueuePositionDto {
+
+	@Schema(description = "Queue token, to send in the X-Queue-Token header of the booking request once admitted")
+	private UUID token;
+
+	@Schema(description = "Position in the queue, 0 once admitted")
+	private long position;
+
+	@Schema(description = "Whether the booking request can be sent")
+	private boolean admitted;
+
+	@Schema(description = "Expected wait before admission in seconds")
+	private long waitSeconds;
+
+}
@@ -29,6 +29,9 @@ public class ReservationDto {
 	@Schema(accessMode = Schema.AccessMode.READ_ONLY)
 	private boolean active;
 
+	@Schema(description = "Whether the Reservation has been archived (cancelled or checked out, read-only from then on)", accessMode = Schema.AccessMode.READ_ONLY)
+	private boolean archived;
+
 	@Schema(description = "User full name", example = "John Doe", required = true)
 	@NotBlank(message = "Name must not be emty")
 	private String userFullName;
@@ -0,0 +1,24 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class ReservationPageDto {
+
+	@Schema(description = "Reservations of the page ordered by check-in date")
+	private List<ReservationDto> reservations;
+
+	@Schema(description = "Cursor to pass to fetch the next page, absent on the last page")
+	private String nextCursor;
+
+}
@@ -0,0 +1,37 @@
+package com.upgradechallenge.volcanocamp.dto;
+
+import java.util.UUID;
+
+import com.upgradechallenge.volcanocamp.model.WaitlistStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class WaitlistEntryDto {
+
+	private UUID id;
+
+	@Schema(description = "WAITING until the dates are released, then PROMOTED along with the id of the Reservation made, or EXPIRED once the check-in date can no longer be booked")
+	private WaitlistStatus status;
+
+	private UUID reservationId;
+
+	private String userFullName;
+
+	private String userEmail;
+
+	@Schema(format = "yyyy-MM-dd", example = "2022-03-20")
+	private String checkinDate;
+
+	@Schema(format = "yyyy-MM-dd", example = "2022-03-22")
+	private String checkoutDate;
+
+}
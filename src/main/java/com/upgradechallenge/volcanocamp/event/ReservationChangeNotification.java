@@ -0,0 +1,30 @@
+package com.upgradechallenge.volcanocamp.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+import lombok.Value;
+
+/**
+ * Delivered on every instance, the one that made the change included, once a Reservation write has committed.
+ * Local caches listen to it to drop what they hold about the changed dates. A resync notification means changes
+ * may have been missed (e.g. the channel reconnected) and everything cached must be dropped.
+ */
+@Value
+public class ReservationChangeNotification {
+
+	UUID reservationId;
+	List<DateRange> changedRanges;
+	boolean resync;
+
+	public static ReservationChangeNotification of(ReservationChangedEvent event) {
+		return new ReservationChangeNotification(event.getReservationId(), event.getChangedRanges(), false);
+	}
+
+	public static ReservationChangeNotification resync() {
+		return new ReservationChangeNotification(null, Collections.emptyList(), true);
+	}
+}
@@ -0,0 +1,21 @@
+package com.upgradechallenge.volcanocamp.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+import lombok.Value;
+
+/**
+ * Published within the booking transaction for every write of a Reservation, or once per chunk of imported
+ * Reservations without reservation id. The change channel relays it to all instances as a
+ * ReservationChangeNotification once the transaction commits.
+ */
+@Value
+public class ReservationChangedEvent {
+
+	UUID reservationId;
+	List<DateRange> changedRanges;
+
+}
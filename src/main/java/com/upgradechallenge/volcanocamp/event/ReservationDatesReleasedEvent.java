@@ -0,0 +1,17 @@
+package com.upgradechallenge.volcanocamp.event;
+
+import java.util.List;
+
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+import lombok.Value;
+
+/**
+ * Published when a cancellation or an update gives dates back, listeners are notified once the transaction commits.
+ */
+@Value
+public class ReservationDatesReleasedEvent {
+
+	List<DateRange> releasedRanges;
+
+}
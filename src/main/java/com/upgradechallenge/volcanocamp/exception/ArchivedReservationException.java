@@ -0,0 +1,11 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+public class ArchivedReservationException extends BusinessException {
+	private static final long serialVersionUID = 1L;
+
+	private static final String ARCHIVED_ERROR = "Reservation with id %s has been archived and can no longer be modified";
+
+	public ArchivedReservationException(String reservationId) {
+		super(String.format(ARCHIVED_ERROR, reservationId));
+	}
+}
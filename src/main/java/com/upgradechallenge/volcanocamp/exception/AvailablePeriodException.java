@@ -0,0 +1,11 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+public class AvailablePeriodException extends BusinessException {
+	private static final long serialVersionUID = 1L;
+
+	static final String AVAILABLE_PERIOD_ERROR = "Every date in the provided time period is available, book it instead of waiting for it";
+
+	public AvailablePeriodException() {
+		super(AVAILABLE_PERIOD_ERROR);
+	}
+}
@@ -1,6 +1,6 @@
 package com.upgradechallenge.volcanocamp.exception;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends BusinessException {
 
 	private static final long serialVersionUID = 1L;
 	
@@ -0,0 +1,14 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+/**
+ * Expected outcome of a request turned down by the business rules, answered with a 4xx. Such exceptions are thrown
+ * often and never investigated from a stack trace, so none is captured.
+ */
+public abstract class BusinessException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	protected BusinessException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -0,0 +1,46 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamp shared by every error produced within the same second, formatted once per second instead of once per
+ * error.
+ */
+final class ErrorTimestamps {
+
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss");
+
+	private static volatile FormattedSecond current = format(Instant.now().getEpochSecond());
+
+	private ErrorTimestamps() {
+	}
+
+	static String now() {
+		long epochSecond = System.currentTimeMillis() / 1000;
+		FormattedSecond formattedSecond = current;
+		if (formattedSecond.epochSecond != epochSecond) {
+			formattedSecond = format(epochSecond);
+			current = formattedSecond;
+		}
+		return formattedSecond.formatted;
+	}
+
+	private static FormattedSecond format(long epochSecond) {
+		LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+		return new FormattedSecond(epochSecond, dateTime.format(FORMATTER));
+	}
+
+	private static final class FormattedSecond {
+
+		private final long epochSecond;
+		private final String formatted;
+
+		private FormattedSecond(long epochSecond, String formatted) {
+			this.epochSecond = epochSecond;
+			this.formatted = formatted;
+		}
+	}
+}
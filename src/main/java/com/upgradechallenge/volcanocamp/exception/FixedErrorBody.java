@@ -0,0 +1,55 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON body of an error whose content only changes with its timestamp, serialized at most once per second and
+ * shared by all the responses of that second.
+ */
+class FixedErrorBody {
+
+	private final HttpStatus status;
+	private final String errorMessage;
+	private final String detail;
+
+	private volatile SerializedBody current;
+
+	FixedErrorBody(HttpStatus status, String errorMessage, String detail) {
+		this.status = status;
+		this.errorMessage = errorMessage;
+		this.detail = detail;
+	}
+
+	HttpStatus getStatus() {
+		return status;
+	}
+
+	byte[] render(ObjectMapper objectMapper) {
+		String timestamp = ErrorTimestamps.now();
+		SerializedBody serializedBody = current;
+		if (serializedBody == null || !serializedBody.timestamp.equals(timestamp)) {
+			OperationError error = new OperationError(status, errorMessage, detail);
+			try {
+				serializedBody = new SerializedBody(error.getTimeStamp(), objectMapper.writeValueAsBytes(error));
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException("Cannot serialize error body", e);
+			}
+			current = serializedBody;
+		}
+		return serializedBody.body;
+	}
+
+	private static final class SerializedBody {
+
+		private final String timestamp;
+		private final byte[] body;
+
+		private SerializedBody(String timestamp, byte[] body) {
+			this.timestamp = timestamp;
+			this.body = body;
+		}
+	}
+}
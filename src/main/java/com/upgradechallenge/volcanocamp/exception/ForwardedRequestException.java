@@ -0,0 +1,14 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+/**
+ * Request claiming to be forwarded by a cluster member without a valid signature, answered with a 403.
+ */
+public class ForwardedRequestException extends BusinessException {
+	private static final long serialVersionUID = 1L;
+
+	private static final String FORWARDED_REQUEST_ERROR = "The request is marked as forwarded by a cluster member but its signature is invalid or expired";
+
+	public ForwardedRequestException() {
+		super(FORWARDED_REQUEST_ERROR);
+	}
+}
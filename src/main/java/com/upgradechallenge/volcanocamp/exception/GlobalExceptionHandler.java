@@ -3,13 +3,20 @@ package com.upgradechallenge.volcanocamp.exception;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.exception.JDBCConnectionException;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -19,33 +26,105 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgradechallenge.volcanocamp.controller.WaitingRoomInterceptor;
+import com.upgradechallenge.volcanocamp.dto.QueuePositionDto;
+import com.upgradechallenge.volcanocamp.monitoring.Tracing;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom.QueuePosition;
+
 @Order(Ordered.HIGHEST_PRECEDENCE) 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 	
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+	private static final String LOCK_TIMEOUT_ERROR = "The provided time period is being booked by another request, please retry";
+	private static final String CONNECTION_UNAVAILABLE_ERROR = "The service is temporarily overloaded, please retry";
+
+	// Bodies of the errors answered the most under contention, only their timestamp varies
+	private static final FixedErrorBody OCCUPIED_PERIOD_BODY = new FixedErrorBody(HttpStatus.CONFLICT,
+			"Occupied period error", OccupiedPeriodException.OCCUPIED_DATE_ERROR);
+	private static final FixedErrorBody LOCK_TIMEOUT_BODY = new FixedErrorBody(HttpStatus.CONFLICT,
+			"Occupied period error", LOCK_TIMEOUT_ERROR);
+	private static final FixedErrorBody CONNECTION_UNAVAILABLE_BODY = new FixedErrorBody(HttpStatus.SERVICE_UNAVAILABLE,
+			"Database connection unavailable", CONNECTION_UNAVAILABLE_ERROR);
+
+	@Autowired
+	ObjectMapper objectMapper;
+
 	@ExceptionHandler(BadRequestException.class)
 	protected ResponseEntity<OperationError> handleInvalidPeriodException(BadRequestException ex) {
-		return buildErrorResponseEntity(HttpStatus.BAD_REQUEST, "Bad request error", ex);
+		return buildBusinessErrorResponseEntity(HttpStatus.BAD_REQUEST, "Bad request error", ex);
 	}
 
 	@ExceptionHandler(OccupiedPeriodException.class)
-	protected ResponseEntity<OperationError> handleOccupiedPeriodException(OccupiedPeriodException ex) {
-		return buildErrorResponseEntity(HttpStatus.CONFLICT, "Occupied period error", ex);
+	protected ResponseEntity<byte[]> handleOccupiedPeriodException(OccupiedPeriodException ex) {
+		log.debug("Request rejected: {}", ex.getMessage());
+		Tracing.recordOutcome("conflict");
+		return buildFixedErrorResponseEntity(OCCUPIED_PERIOD_BODY);
 	}
 	
+	@ExceptionHandler(AvailablePeriodException.class)
+	protected ResponseEntity<OperationError> handleAvailablePeriodException(AvailablePeriodException ex) {
+		return buildBusinessErrorResponseEntity(HttpStatus.CONFLICT, "Available period error", ex);
+	}
+
 	@ExceptionHandler(DataIntegrityViolationException.class)
 	protected ResponseEntity<OperationError> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
 		return buildErrorResponseEntity(HttpStatus.CONFLICT, "Occupied period error", ex);
 	}
 
-	@ExceptionHandler(ResourceNotFoundException.class)
-	protected ResponseEntity<OperationError> handleResourceNotFoundException(ResourceNotFoundException ex) {
-		OperationError error = new OperationError(HttpStatus.NOT_FOUND, "Resource not found", ex.getMessage());
+	@ExceptionHandler(PessimisticLockingFailureException.class)
+	protected ResponseEntity<byte[]> handlePessimisticLockingFailureException(PessimisticLockingFailureException ex) {
+		log.debug("Request rejected: {}", ex.getMessage());
+		Tracing.recordOutcome("lock timeout");
+		return buildFixedErrorResponseEntity(LOCK_TIMEOUT_BODY);
+	}
+
+	@ExceptionHandler(CannotCreateTransactionException.class)
+	protected ResponseEntity<byte[]> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+		log.error("Error occured: {}",ex.getMessage());
+		log.debug("Exception details: {}",ex);
+		return buildFixedErrorResponseEntity(CONNECTION_UNAVAILABLE_BODY);
+	}
+
+	// Behind LazyConnectionDataSourceProxy the connection is only taken at the first statement, so an exhausted pool
+	// surfaces there rather than when the transaction begins
+	@ExceptionHandler({ DataAccessResourceFailureException.class, JDBCConnectionException.class })
+	protected ResponseEntity<byte[]> handleConnectionFailureException(RuntimeException ex) {
 		log.error("Error occured: {}",ex.getMessage());
 		log.debug("Exception details: {}",ex);
-		return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+		return buildFixedErrorResponseEntity(CONNECTION_UNAVAILABLE_BODY);
+	}
+
+	@ExceptionHandler(PartitionOwnerUnavailableException.class)
+	protected ResponseEntity<OperationError> handlePartitionOwnerUnavailableException(PartitionOwnerUnavailableException ex) {
+		return buildBusinessErrorResponseEntity(HttpStatus.SERVICE_UNAVAILABLE, "Partition owner unavailable", ex);
+	}
+
+	@ExceptionHandler(ForwardedRequestException.class)
+	protected ResponseEntity<OperationError> handleForwardedRequestException(ForwardedRequestException ex) {
+		return buildBusinessErrorResponseEntity(HttpStatus.FORBIDDEN, "Forbidden", ex);
+	}
+
+	@ExceptionHandler(ResourceNotFoundException.class)
+	protected ResponseEntity<OperationError> handleResourceNotFoundException(ResourceNotFoundException ex) {
+		return buildBusinessErrorResponseEntity(HttpStatus.NOT_FOUND, "Resource not found", ex);
+	}
+
+	@ExceptionHandler(ArchivedReservationException.class)
+	protected ResponseEntity<OperationError> handleArchivedReservationException(ArchivedReservationException ex) {
+		return buildBusinessErrorResponseEntity(HttpStatus.GONE, "Resource archived", ex);
+	}
+
+	@ExceptionHandler(QueuedRequestException.class)
+	protected ResponseEntity<QueuePositionDto> handleQueuedRequestException(QueuedRequestException ex) {
+		QueuePosition queuePosition = ex.getQueuePosition();
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, queuePosition.getWaitSeconds())))
+				.header(WaitingRoomInterceptor.QUEUE_TOKEN_HEADER, queuePosition.getToken().toString())
+				.body(QueuePositionDto.builder().token(queuePosition.getToken()).position(queuePosition.getPosition())
+						.admitted(false).waitSeconds(queuePosition.getWaitSeconds()).build());
 	}
 
 	@ExceptionHandler(MethodArgumentNotValidException.class)
@@ -76,7 +155,7 @@ public class GlobalExceptionHandler {
 
 	@ExceptionHandler(MethodNotAllowedException.class)
 	protected ResponseEntity<OperationError> handleMethodNotAllowedException(MethodNotAllowedException ex) {
-		return buildErrorResponseEntity(HttpStatus.METHOD_NOT_ALLOWED, "Operation is not allowed", ex);
+		return buildBusinessErrorResponseEntity(HttpStatus.METHOD_NOT_ALLOWED, "Operation is not allowed", ex);
 	}
 
 	@ExceptionHandler(NoHandlerFoundException.class)
@@ -106,4 +185,16 @@ public class GlobalExceptionHandler {
 		log.debug("Exception details: {}",ex);
 		return new ResponseEntity<OperationError>(error, status);
 	}
+
+	// Business errors are an expected outcome, not worth an ERROR line each
+	private ResponseEntity<OperationError> buildBusinessErrorResponseEntity(HttpStatus status, String errorMessage,
+			BusinessException ex) {
+		log.debug("Request rejected: {}", ex.getMessage());
+		return new ResponseEntity<OperationError>(new OperationError(status, errorMessage, ex.getMessage()), status);
+	}
+
+	private ResponseEntity<byte[]> buildFixedErrorResponseEntity(FixedErrorBody body) {
+		return ResponseEntity.status(body.getStatus()).contentType(MediaType.APPLICATION_JSON)
+				.body(body.render(objectMapper));
+	}
 }
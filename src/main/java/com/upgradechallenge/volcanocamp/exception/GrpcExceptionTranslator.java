@@ -0,0 +1,56 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.slf4j.Logger;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * gRPC counterpart of GlobalExceptionHandler, turning the exceptions of the service layer into the status codes
+ * closest to the HTTP statuses of the REST API.
+ */
+public class GrpcExceptionTranslator {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(GrpcExceptionTranslator.class);
+
+	private static final String LOCK_TIMEOUT_ERROR = "The provided time period is being booked by another request, please retry";
+	private static final String CONNECTION_UNAVAILABLE_ERROR = "The service is temporarily overloaded, please retry";
+	private static final String SERVER_ERROR = "Server-side error";
+
+	public static StatusRuntimeException toStatusException(RuntimeException ex) {
+		return toStatus(ex).asRuntimeException();
+	}
+
+	public static Status toStatus(RuntimeException ex) {
+		if (ex instanceof BadRequestException) {
+			return Status.INVALID_ARGUMENT.withDescription(ex.getMessage());
+		}
+		if (ex instanceof ResourceNotFoundException) {
+			return Status.NOT_FOUND.withDescription(ex.getMessage());
+		}
+		if (ex instanceof OccupiedPeriodException || ex instanceof DataIntegrityViolationException) {
+			return Status.ALREADY_EXISTS.withDescription(OccupiedPeriodException.OCCUPIED_DATE_ERROR);
+		}
+		if (ex instanceof PartitionOwnerUnavailableException) {
+			return Status.ABORTED.withDescription(ex.getMessage());
+		}
+		if (ex instanceof PessimisticLockingFailureException) {
+			return Status.ABORTED.withDescription(LOCK_TIMEOUT_ERROR);
+		}
+		if (ex instanceof MethodNotAllowedException || ex instanceof ArchivedReservationException) {
+			return Status.FAILED_PRECONDITION.withDescription(ex.getMessage());
+		}
+		if (ex instanceof CannotCreateTransactionException || ex instanceof DataAccessResourceFailureException
+				|| ex instanceof JDBCConnectionException) {
+			return Status.UNAVAILABLE.withDescription(CONNECTION_UNAVAILABLE_ERROR);
+		}
+
+		log.error("gRPC call failed", ex);
+		return Status.INTERNAL.withDescription(SERVER_ERROR);
+	}
+}
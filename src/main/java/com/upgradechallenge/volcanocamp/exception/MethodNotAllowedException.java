@@ -1,6 +1,6 @@
 package com.upgradechallenge.volcanocamp.exception;
 
-public class MethodNotAllowedException extends RuntimeException {
+public class MethodNotAllowedException extends BusinessException {
 	private static final long serialVersionUID = 1L;
 
 	public MethodNotAllowedException(String message) {
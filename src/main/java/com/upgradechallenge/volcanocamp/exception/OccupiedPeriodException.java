@@ -1,9 +1,9 @@
 package com.upgradechallenge.volcanocamp.exception;
 
-public class OccupiedPeriodException  extends RuntimeException {
+public class OccupiedPeriodException  extends BusinessException {
 	private static final long serialVersionUID = 1L;
 	
-	private static final String OCCUPIED_DATE_ERROR= "There is at least one unavailable date in the provided time period";
+	static final String OCCUPIED_DATE_ERROR= "There is at least one unavailable date in the provided time period";
 	
 	public OccupiedPeriodException() {
         super(OCCUPIED_DATE_ERROR);
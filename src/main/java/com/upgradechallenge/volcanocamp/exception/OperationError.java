@@ -1,7 +1,5 @@
 package com.upgradechallenge.volcanocamp.exception;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -15,9 +13,7 @@ public class OperationError {
 	private List<String> details;
 
 	private OperationError() {
-		LocalDateTime now = LocalDateTime.now();
-		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss");
-		timestamp = now.format(formatter);
+		timestamp = ErrorTimestamps.now();
 		details = new ArrayList<>();
 	}
 
@@ -0,0 +1,13 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+/**
+ * The member owning the dates of a forwarded booking could not handle it, answered with a 503. The booking may or
+ * may not have been made when the owner did not answer in time.
+ */
+public class PartitionOwnerUnavailableException extends BusinessException {
+	private static final long serialVersionUID = 1L;
+
+	public PartitionOwnerUnavailableException(String message) {
+		super(message);
+	}
+}
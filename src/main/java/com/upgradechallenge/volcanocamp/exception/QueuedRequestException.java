@@ -0,0 +1,24 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import com.upgradechallenge.volcanocamp.service.WaitingRoom.QueuePosition;
+
+/**
+ * Booking request held in the waiting room, answered with a 429 carrying its queue token and position.
+ */
+public class QueuedRequestException extends BusinessException {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String QUEUED_ERROR = "The booking queue is busy, please retry once admitted";
+
+	private final transient QueuePosition queuePosition;
+
+	public QueuedRequestException(QueuePosition queuePosition) {
+		super(QUEUED_ERROR);
+		this.queuePosition = queuePosition;
+	}
+
+	public QueuePosition getQueuePosition() {
+		return queuePosition;
+	}
+}
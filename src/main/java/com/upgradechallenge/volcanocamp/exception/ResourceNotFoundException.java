@@ -1,11 +1,15 @@
 package com.upgradechallenge.volcanocamp.exception;
 
-public class ResourceNotFoundException  extends RuntimeException {
+public class ResourceNotFoundException  extends BusinessException {
 	private static final long serialVersionUID = 1L;
 	
-	private static final String NOT_FOUND_ERROR= "Reservation with id %s is not found";
+	private static final String NOT_FOUND_ERROR= "%s with id %s is not found";
 	
 	public ResourceNotFoundException(String resourceId) {
-        super(String.format(NOT_FOUND_ERROR, resourceId));
+        this("Reservation", resourceId);
+    }
+
+	public ResourceNotFoundException(String resourceType, String resourceId) {
+        super(String.format(NOT_FOUND_ERROR, resourceType, resourceId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.upgradechallenge.volcanocamp.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Cold copy of a cancelled or checked-out Reservation. Rows are keyed by the original reservation id and
+ * bucketed by the month of the check-out date so that old months can be dropped or detached as a whole.
+ */
+@Entity
+@Table(name = "reservations_archive", indexes = {
+		@Index(name = "idx_reservations_archive_month", columnList = "archive_month"),
+		@Index(name = "idx_reservations_archive_user_email", columnList = "user_email_lower, checkin_date, id") })
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = { "id" })
+public class ArchivedReservation implements Persistable<UUID> {
+
+	private static final DateTimeFormatter ARCHIVE_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+	@Id
+	@Column(name = "id", updatable = false, nullable = false)
+	private UUID id;
+
+	@Column(name = "archive_month", nullable = false, length = 7)
+	private String archiveMonth;
+
+	@Column(name = "version")
+	private Long version;
+
+	@Column(name = "user_name")
+	private String userFullName;
+
+	@Column(name = "user_email")
+	private String userEmail;
+
+	// Lower-cased copy of userEmail, key of the case-insensitive lookups by email as in the reservations table
+	@Column(name = "user_email_lower")
+	private String userEmailLower;
+
+	@Column(name = "checkin_date")
+	private LocalDate checkinDate;
+
+	@Column(name = "checkout_date")
+	private LocalDate checkoutDate;
+
+	@Column(name = "cancelled_date")
+	private LocalDate cancelledDate;
+
+	@Column(name = "archived_date")
+	private LocalDate archivedDate;
+
+	@Column(name = "is_active")
+	private boolean active;
+
+	// Archive rows are write-once: a freshly built row is always inserted without a prior select
+	@Transient
+	@Builder.Default
+	@ToString.Exclude
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+	@PrePersist
+	void normalizeUserEmail() {
+		userEmailLower = userEmail == null ? null : userEmail.toLowerCase(Locale.ROOT);
+	}
+
+	public static ArchivedReservation fromReservation(Reservation reservation, LocalDate archivedDate) {
+		return ArchivedReservation.builder().id(reservation.getId())
+				.archiveMonth(reservation.getCheckoutDate().format(ARCHIVE_MONTH_FORMAT))
+				.version(reservation.getVersion()).userFullName(reservation.getUserFullName())
+				.userEmail(reservation.getUserEmail()).checkinDate(reservation.getCheckinDate())
+				.checkoutDate(reservation.getCheckoutDate()).cancelledDate(reservation.getCancelledDate())
+				.archivedDate(archivedDate).active(reservation.isActive()).build();
+	}
+
+	public Reservation toReservation() {
+		return Reservation.builder().id(id).version(version).userFullName(userFullName).userEmail(userEmail)
+				.checkinDate(checkinDate).checkoutDate(checkoutDate).cancelledDate(cancelledDate).active(active)
+				.archived(true).build();
+	}
+
+}
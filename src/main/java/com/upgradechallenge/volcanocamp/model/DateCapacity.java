@@ -0,0 +1,73 @@
+package com.upgradechallenge.volcanocamp.model;
+
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Number of pitches of the camp site still free on a given date, decremented by each booking holding the date.
+ */
+@Entity
+@Table(name = "datecapacity")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = { "date" })
+public class DateCapacity implements Persistable<LocalDate> {
+
+	@Id
+	private LocalDate date;
+
+	@Column(name = "capacity", nullable = false)
+	private int capacity;
+
+	@Column(name = "remaining", nullable = false)
+	private int remaining;
+
+	@Transient
+	@Builder.Default
+	@ToString.Exclude
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	public static DateCapacity free(LocalDate date, int capacity) {
+		return DateCapacity.builder().date(date).capacity(capacity).remaining(capacity).build();
+	}
+
+	@Override
+	public LocalDate getId() {
+		return date;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+}
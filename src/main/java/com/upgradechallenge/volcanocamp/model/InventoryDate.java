@@ -0,0 +1,77 @@
+package com.upgradechallenge.volcanocamp.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One bookable date of the camp site, created ahead of time so that a booking locks existing rows only.
+ */
+@Entity
+@Table(name = "inventorydate")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = { "date" })
+public class InventoryDate implements Persistable<LocalDate> {
+
+	@Id
+	private LocalDate date;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 8)
+	private InventoryStatus status;
+
+	@Column(name = "reservation_id")
+	private UUID reservationId;
+
+	@Transient
+	@Builder.Default
+	@ToString.Exclude
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	public static InventoryDate free(LocalDate date) {
+		return InventoryDate.builder().date(date).status(InventoryStatus.FREE).build();
+	}
+
+	@Override
+	public LocalDate getId() {
+		return date;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+}
@@ -0,0 +1,6 @@
+package com.upgradechallenge.volcanocamp.model;
+
+public enum InventoryStatus {
+	FREE,
+	TAKEN
+}
@@ -0,0 +1,42 @@
+package com.upgradechallenge.volcanocamp.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of occupied nights of a past month, accumulated as the past reservationdate rows of that month are pruned.
+ */
+@Entity
+@Table(name = "occupancy_history")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = { "month" })
+public class OccupancyHistory {
+
+	private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+	@Id
+	@Column(name = "month", updatable = false, nullable = false, length = 7)
+	private String month;
+
+	@Column(name = "occupied_nights", nullable = false)
+	private long occupiedNights;
+
+	public static String monthOf(LocalDate date) {
+		return date.format(MONTH_FORMAT);
+	}
+
+}
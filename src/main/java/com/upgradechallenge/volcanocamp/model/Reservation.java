@@ -1,13 +1,18 @@
 package com.upgradechallenge.volcanocamp.model;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.UUID;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.Version;
 
 import org.hibernate.annotations.GenericGenerator;
@@ -19,7 +24,11 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+		@Index(name = "idx_reservations_user_email", columnList = "user_email_lower, checkin_date, id"),
+		// Archival scan: cancelled reservations and checked-out ones, in check-out date order
+		@Index(name = "idx_reservations_active_checkout", columnList = "is_active, checkout_date"),
+		@Index(name = "idx_reservations_checkout", columnList = "checkout_date") })
 @Data
 @Builder
 @AllArgsConstructor
@@ -43,6 +52,11 @@ public class Reservation {
 	@Column(name = "user_email")
 	private String userEmail;
 
+	// Lower-cased copy of userEmail, the indexed key of the case-insensitive lookups by email (a portable stand-in
+	// for an index on lower(user_email), which H2 does not support)
+	@Column(name = "user_email_lower")
+	private String userEmailLower;
+
 	@Column(name = "checkin_date")
 	private LocalDate checkinDate;
 
@@ -55,4 +69,14 @@ public class Reservation {
 	@Column(name = "is_active")
 	private boolean active;
 
+	// Set on the Reservations read back from reservations_archive, never stored
+	@Transient
+	private boolean archived;
+
+	@PrePersist
+	@PreUpdate
+	void normalizeUserEmail() {
+		userEmailLower = userEmail == null ? null : userEmail.toLowerCase(Locale.ROOT);
+	}
+
 }
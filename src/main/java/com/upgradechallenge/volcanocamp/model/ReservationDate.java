@@ -4,13 +4,22 @@ import java.time.LocalDate;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "reservationdate")
@@ -19,9 +28,34 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(of = { "date" })
-public class ReservationDate {
+public class ReservationDate implements Persistable<LocalDate> {
 
 	@Id
 	private LocalDate date;	
 
+	// A freshly built date is always inserted rather than merged, so that an already reserved date fails on the
+	// primary key instead of being silently overwritten
+	@Transient
+	@Builder.Default
+	@ToString.Exclude
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	@Override
+	public LocalDate getId() {
+		return date;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
 }
@@ -0,0 +1,70 @@
+package com.upgradechallenge.volcanocamp.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stay requested for dates that were taken, turned into a Reservation when those dates are released.
+ */
+@Entity
+@Table(name = "waitlist", indexes = {
+		@Index(name = "idx_waitlist_status_checkin", columnList = "status, checkin_date, created_at") })
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = { "id" })
+public class WaitlistEntry {
+
+	@Id
+	@GeneratedValue(generator = "UUID")
+	@GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+	@Column(name = "id", updatable = false, nullable = false)
+	private UUID id;
+
+	@Column(name = "user_name")
+	private String userFullName;
+
+	@Column(name = "user_email")
+	private String userEmail;
+
+	@Column(name = "checkin_date")
+	private LocalDate checkinDate;
+
+	@Column(name = "checkout_date")
+	private LocalDate checkoutDate;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 8)
+	private WaitlistStatus status;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "reservation_id")
+	private UUID reservationId;
+
+	public Reservation toReservation() {
+		return Reservation.builder().userFullName(userFullName).userEmail(userEmail).checkinDate(checkinDate)
+				.checkoutDate(checkoutDate).build();
+	}
+
+}
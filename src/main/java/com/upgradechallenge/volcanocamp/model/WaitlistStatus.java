@@ -0,0 +1,7 @@
+package com.upgradechallenge.volcanocamp.model;
+
+public enum WaitlistStatus {
+	WAITING,
+	PROMOTED,
+	EXPIRED
+}
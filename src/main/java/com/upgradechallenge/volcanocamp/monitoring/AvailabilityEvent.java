@@ -0,0 +1,36 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event timing the load of the occupied or available dates behind an availability read, waits on an
+ * identical load already running included.
+ */
+@Name("com.upgradechallenge.volcanocamp.Availability")
+@Label("Availability Computation")
+@Category({ "Volcanocamp", "Availability" })
+@Description("Time spent loading the occupied or available dates of a period")
+@StackTrace(false)
+public class AvailabilityEvent extends Event {
+
+	public static final String OCCUPIED_DATES = "occupied dates";
+	public static final String AVAILABLE_DATES = "available dates";
+
+	@Label("Query")
+	public String query;
+
+	@Label("Start Date")
+	public String startDate;
+
+	@Label("End Date")
+	public String endDate;
+
+	@Label("Dates Loaded")
+	public int dates;
+
+}
@@ -0,0 +1,63 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.util.function.Supplier;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event timing one phase of a booking. Where a booking mode folds several phases into one
+ * statement, the phase is the one the statement waits on: the locked read of the locking mode and the SKIP LOCKED
+ * claim of the inventory mode are lock acquisitions, the primary key insert of the insert-first mode and the
+ * conditional UPDATE of the capacity mode are date writes. Events cost a few field writes when no recording runs.
+ * Each recorded phase is also a span of the current trace, a no-op one unless tracing is enabled and sampled.
+ */
+@Name("com.upgradechallenge.volcanocamp.BookingPhase")
+@Label("Booking Phase")
+@Category({ "Volcanocamp", "Booking" })
+@Description("Time spent in one phase of a reservation creation, update or cancellation")
+@StackTrace(false)
+public class BookingPhaseEvent extends Event {
+
+	public static final String VALIDATION = "validation";
+	public static final String LOCK_ACQUISITION = "lock acquisition";
+	public static final String CONFLICT_CHECK = "conflict check";
+	public static final String DATE_WRITE = "date write";
+	public static final String COMMIT = "commit";
+
+	@Label("Phase")
+	private final String phase;
+
+	public BookingPhaseEvent(String phase) {
+		this.phase = phase;
+	}
+
+	public static <T> T record(String phase, Supplier<T> step) {
+		BookingPhaseEvent event = new BookingPhaseEvent(phase);
+		Span span = Tracing.tracer().spanBuilder(phase).startSpan();
+		event.begin();
+		try (Scope scope = span.makeCurrent()) {
+			return step.get();
+		} catch (RuntimeException e) {
+			span.setStatus(StatusCode.ERROR, e.getClass().getSimpleName());
+			throw e;
+		} finally {
+			event.commit();
+			span.end();
+		}
+	}
+
+	public static void record(String phase, Runnable step) {
+		record(phase, () -> {
+			step.run();
+			return null;
+		});
+	}
+}
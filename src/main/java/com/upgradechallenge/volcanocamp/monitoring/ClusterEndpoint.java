@@ -0,0 +1,44 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.service.PartitionOwnership;
+
+/**
+ * Actuator endpoint (/actuator/cluster) showing the cluster members of the partitioned booking mode, and moving
+ * partition ownership to a new member list (comma separated base URLs), to be posted to every member. Whoever reaches
+ * it can reroute every booking, so it is only exposed on the management port of the management profile.
+ */
+@Component
+@Endpoint(id = "cluster")
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "partitioned")
+public class ClusterEndpoint {
+
+	@Autowired
+	PartitionOwnership partitionOwnership;
+
+	@ReadOperation
+	public Map<String, Object> cluster() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("self", partitionOwnership.getSelf());
+		report.put("members", partitionOwnership.getMembers());
+		return report;
+	}
+
+	@WriteOperation
+	public Map<String, Object> updateMembers(String members) {
+		partitionOwnership.updateMembers(Arrays.stream(members.split(",")).map(String::trim)
+				.filter(member -> !member.isEmpty()).collect(Collectors.toList()));
+		return cluster();
+	}
+}
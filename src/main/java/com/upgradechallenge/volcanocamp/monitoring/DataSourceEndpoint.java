@@ -0,0 +1,81 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Actuator endpoint (/actuator/datasource) giving a live view of the connection pools and of the longest running
+ * transactions. It reveals pool sizing and the threads holding transactions: only exposed on the management port of
+ * the management profile.
+ */
+@Component
+@Endpoint(id = "datasource")
+public class DataSourceEndpoint {
+
+	private static final int LONGEST_TRANSACTIONS_LIMIT = 10;
+
+	@Autowired
+	List<DataSource> dataSources;
+
+	@Autowired
+	TransactionTracker transactionTracker;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@ReadOperation
+	public Map<String, Object> datasource() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("pools", dataSources.stream().filter(HikariDataSource.class::isInstance)
+				.map(HikariDataSource.class::cast).map(this::describePool).collect(Collectors.toList()));
+		report.put("activeTransactions", transactionTracker.getActiveCount());
+		report.put("longestRunningTransactions", transactionTracker.getLongestRunning(LONGEST_TRANSACTIONS_LIMIT));
+		return report;
+	}
+
+	private Map<String, Object> describePool(HikariDataSource dataSource) {
+		Map<String, Object> pool = new LinkedHashMap<>();
+		pool.put("name", dataSource.getPoolName());
+		pool.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+
+		HikariPoolMXBean poolBean = dataSource.getHikariPoolMXBean();
+		if (poolBean != null) {
+			pool.put("activeConnections", poolBean.getActiveConnections());
+			pool.put("idleConnections", poolBean.getIdleConnections());
+			pool.put("totalConnections", poolBean.getTotalConnections());
+			pool.put("threadsAwaitingConnection", poolBean.getThreadsAwaitingConnection());
+		}
+
+		Timer acquireTimer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName())
+				.timer();
+		if (acquireTimer != null) {
+			pool.put("acquireMeanMs", acquireTimer.mean(TimeUnit.MILLISECONDS));
+			pool.put("acquireMaxMs", acquireTimer.max(TimeUnit.MILLISECONDS));
+		}
+
+		Counter timeoutCounter = meterRegistry.find("hikaricp.connections.timeout")
+				.tag("pool", dataSource.getPoolName()).counter();
+		if (timeoutCounter != null) {
+			pool.put("acquireTimeouts", timeoutCounter.count());
+		}
+
+		return pool;
+	}
+}
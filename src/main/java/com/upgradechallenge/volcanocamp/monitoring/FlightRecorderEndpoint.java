@@ -0,0 +1,151 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Actuator endpoint (/actuator/jfr) driving an on-demand Java Flight Recorder recording, the booking phase and
+ * availability events included. POST /actuator/jfr/start (optionally with the "default" or "profile" settings and
+ * a maximum age in seconds), GET /actuator/jfr/dump to download what was recorded so far, POST /actuator/jfr/stop.
+ * Recordings hold stack traces and booking details: the endpoint only exists with reservation.jfr.enabled=true and
+ * must only be exposed on a management port that is not reachable from outside.
+ */
+@Component
+@Endpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "reservation.jfr", name = "enabled", havingValue = "true")
+public class FlightRecorderEndpoint {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+
+	private static final String RECORDING_NAME = "volcanocamp";
+	private static final String DEFAULT_SETTINGS = "profile";
+	private static final long DEFAULT_MAX_AGE_SECONDS = 600;
+
+	// Guarded by this
+	private Recording recording;
+
+	@ReadOperation
+	public synchronized Map<String, Object> status() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("state", recording != null ? recording.getState() : RecordingState.CLOSED);
+		if (recording != null) {
+			report.put("startTime", recording.getStartTime());
+			report.put("maxAge", recording.getMaxAge());
+			report.put("size", recording.getSize());
+		}
+		return report;
+	}
+
+	@WriteOperation
+	public synchronized Map<String, Object> control(@Selector String action, @Nullable String settings,
+			@Nullable Long maxAgeSeconds) {
+		switch (action) {
+		case "start":
+			start(settings != null ? settings : DEFAULT_SETTINGS,
+					maxAgeSeconds != null ? maxAgeSeconds : DEFAULT_MAX_AGE_SECONDS);
+			break;
+		case "stop":
+			stop();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown flight recorder action: " + action);
+		}
+		return status();
+	}
+
+	/**
+	 * @return (Resource) Recording file of the events recorded so far, deleted once streamed, null if no recording
+	 *         is running
+	 */
+	@ReadOperation(produces = "application/octet-stream")
+	public synchronized Resource dump(@Selector String action) {
+		if (!"dump".equals(action) || recording == null || recording.getState() != RecordingState.RUNNING) {
+			return null;
+		}
+		Path dumpFile = null;
+		try {
+			dumpFile = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+			recording.dump(dumpFile);
+			return new DumpResource(dumpFile);
+		} catch (IOException e) {
+			deleteQuietly(dumpFile);
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void start(String settings, long maxAgeSeconds) {
+		if (recording != null && recording.getState() == RecordingState.RUNNING) {
+			return;
+		}
+		try {
+			recording = new Recording(Configuration.getConfiguration(settings));
+		} catch (IOException | ParseException e) {
+			throw new IllegalArgumentException("Unknown flight recorder settings: " + settings, e);
+		}
+		recording.setName(RECORDING_NAME);
+		recording.setToDisk(true);
+		recording.setMaxAge(Duration.ofSeconds(maxAgeSeconds));
+		recording.enable(BookingPhaseEvent.class);
+		recording.enable(AvailabilityEvent.class);
+		recording.start();
+		log.info("Flight recording started with {} settings", settings);
+	}
+
+	private void stop() {
+		if (recording != null) {
+			recording.close();
+			recording = null;
+			log.info("Flight recording stopped");
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Could not delete flight recording dump {}", file, e);
+		}
+	}
+
+	// Dump file removed from the disk as soon as the response has been streamed from it
+	private static class DumpResource extends FileSystemResource {
+
+		private final Path dumpFile;
+
+		DumpResource(Path dumpFile) {
+			super(dumpFile);
+			this.dumpFile = dumpFile;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return Files.newInputStream(dumpFile, StandardOpenOption.DELETE_ON_CLOSE);
+		}
+	}
+}
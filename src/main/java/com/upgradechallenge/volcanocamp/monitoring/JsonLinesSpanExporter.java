@@ -0,0 +1,78 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Span exporter appending one JSON object per finished span to a local file, for runs without a collector.
+ */
+public class JsonLinesSpanExporter implements SpanExporter {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(JsonLinesSpanExporter.class);
+
+	private final Path file;
+	private final ObjectMapper objectMapper;
+
+	public JsonLinesSpanExporter(Path file, ObjectMapper objectMapper) {
+		this.file = file;
+		this.objectMapper = objectMapper;
+	}
+
+	// Called by the batch span processor from its single worker thread
+	@Override
+	public CompletableResultCode export(Collection<SpanData> spans) {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND)) {
+			for (SpanData span : spans) {
+				writer.write(objectMapper.writeValueAsString(toMap(span)));
+				writer.newLine();
+			}
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			log.warn("Failed to export {} spans to {}", spans.size(), file, e);
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return CompletableResultCode.ofSuccess();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		return CompletableResultCode.ofSuccess();
+	}
+
+	private Map<String, Object> toMap(SpanData span) {
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+
+		Map<String, Object> spanMap = new LinkedHashMap<>();
+		spanMap.put("traceId", span.getTraceId());
+		spanMap.put("spanId", span.getSpanId());
+		spanMap.put("parentSpanId", span.getParentSpanId());
+		spanMap.put("name", span.getName());
+		spanMap.put("kind", span.getKind());
+		spanMap.put("startEpochNanos", span.getStartEpochNanos());
+		spanMap.put("durationNanos", span.getEndEpochNanos() - span.getStartEpochNanos());
+		spanMap.put("status", span.getStatus().getStatusCode());
+		spanMap.put("attributes", attributes);
+		return spanMap;
+	}
+}
@@ -0,0 +1,48 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+
+/**
+ * Tracer of the application code and propagator of the incoming trace contexts, no-op ones until TracingSetup
+ * installs the SDK (reservation.tracing.enabled), and the span attributes the application records.
+ */
+public final class Tracing {
+
+	static final String INSTRUMENTATION_NAME = "com.upgradechallenge.volcanocamp";
+
+	public static final AttributeKey<String> CHECKIN_DATE = AttributeKey.stringKey("booking.checkin_date");
+	public static final AttributeKey<String> CHECKOUT_DATE = AttributeKey.stringKey("booking.checkout_date");
+	public static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("booking.outcome");
+
+	private static volatile OpenTelemetry openTelemetry = OpenTelemetry.noop();
+	private static volatile Tracer tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+
+	private Tracing() {
+	}
+
+	public static Tracer tracer() {
+		return tracer;
+	}
+
+	static TextMapPropagator propagator() {
+		return openTelemetry.getPropagators().getTextMapPropagator();
+	}
+
+	/**
+	 * Records the outcome of the booking handled by the current request on its span.
+	 * 
+	 * @param outcome (String) Outcome, e.g. booked or conflict
+	 */
+	public static void recordOutcome(String outcome) {
+		Span.current().setAttribute(OUTCOME, outcome);
+	}
+
+	static void install(OpenTelemetry installedOpenTelemetry) {
+		openTelemetry = installedOpenTelemetry;
+		tracer = installedOpenTelemetry.getTracer(INSTRUMENTATION_NAME);
+	}
+}
@@ -0,0 +1,81 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+
+/**
+ * Opens the server span of every API request, the booking phase spans of the request nest under it. The span
+ * continues the trace of the W3C traceparent header of the request, if any, and is named after the route template
+ * once the request has been mapped, so that all the requests of a route share one span name.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.tracing", name = "enabled", havingValue = "true")
+public class TracingFilter extends OncePerRequestFilter {
+
+	private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
+	private static final AttributeKey<String> HTTP_TARGET = AttributeKey.stringKey("http.target");
+	private static final AttributeKey<String> HTTP_ROUTE = AttributeKey.stringKey("http.route");
+	private static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
+
+	private static final TextMapGetter<HttpServletRequest> HEADER_GETTER = new TextMapGetter<>() {
+
+		@Override
+		public Iterable<String> keys(HttpServletRequest request) {
+			return Collections.list(request.getHeaderNames());
+		}
+
+		@Override
+		public String get(HttpServletRequest request, String key) {
+			return request != null ? request.getHeader(key) : null;
+		}
+	};
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !request.getRequestURI().startsWith("/api/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		Context parentContext = Tracing.propagator().extract(Context.root(), request, HEADER_GETTER);
+		// The route is only known once mapped, until then the span is named after the method alone
+		Span span = Tracing.tracer().spanBuilder(request.getMethod()).setParent(parentContext)
+				.setSpanKind(SpanKind.SERVER).setAttribute(HTTP_METHOD, request.getMethod())
+				.setAttribute(HTTP_TARGET, request.getRequestURI()).startSpan();
+
+		try (Scope scope = span.makeCurrent()) {
+			filterChain.doFilter(request, response);
+		} finally {
+			Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			if (route != null) {
+				span.updateName(request.getMethod() + " " + route);
+				span.setAttribute(HTTP_ROUTE, route.toString());
+			}
+			span.setAttribute(HTTP_STATUS_CODE, (long) response.getStatus());
+			if (response.getStatus() >= 500) {
+				span.setStatus(StatusCode.ERROR);
+			}
+			span.end();
+		}
+	}
+}
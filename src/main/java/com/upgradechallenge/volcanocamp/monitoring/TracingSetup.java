@@ -0,0 +1,58 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.nio.file.Paths;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgradechallenge.volcanocamp.configuration.TracingConfiguration;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Installs the OpenTelemetry SDK behind Tracing when reservation.tracing.enabled is set. Traces are sampled at
+ * samplingRatio (requests carrying a sampled W3C traceparent header continue that trace and are always sampled)
+ * and exported in batches off the request threads, to a local JSON lines file ("file") or to an OTLP collector ("otlp").
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reservation.tracing", name = "enabled", havingValue = "true")
+public class TracingSetup {
+
+	private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+	@Bean(destroyMethod = "close")
+	public SdkTracerProvider sdkTracerProvider(TracingConfiguration tracingConfig, ObjectMapper objectMapper) {
+		SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+				.setResource(Resource.getDefault().merge(Resource.create(Attributes.of(SERVICE_NAME, "volcanocamp"))))
+				.setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(tracingConfig.getSamplingRatio())))
+				.addSpanProcessor(BatchSpanProcessor.builder(spanExporter(tracingConfig, objectMapper)).build())
+				.build();
+
+		Tracing.install(OpenTelemetrySdk.builder().setTracerProvider(tracerProvider)
+				.setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance())).build());
+		return tracerProvider;
+	}
+
+	private SpanExporter spanExporter(TracingConfiguration tracingConfig, ObjectMapper objectMapper) {
+		switch (tracingConfig.getExporter()) {
+		case "file":
+			return new JsonLinesSpanExporter(Paths.get(tracingConfig.getFile()), objectMapper);
+		case "otlp":
+			return OtlpGrpcSpanExporter.builder().setEndpoint(tracingConfig.getOtlpEndpoint()).build();
+		default:
+			throw new IllegalArgumentException("Unknown span exporter: " + tracingConfig.getExporter());
+		}
+	}
+}
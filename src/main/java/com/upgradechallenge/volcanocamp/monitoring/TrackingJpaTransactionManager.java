@@ -0,0 +1,47 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * JpaTransactionManager reporting every physical transaction to the TransactionTracker. Tracking starts before
+ * the connection is acquired, so time spent waiting on an exhausted pool shows up as well. Commits of read-write
+ * transactions are timed as the commit phase of the bookings.
+ */
+public class TrackingJpaTransactionManager extends JpaTransactionManager {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient TransactionTracker transactionTracker;
+
+	public TrackingJpaTransactionManager(TransactionTracker transactionTracker) {
+		this.transactionTracker = transactionTracker;
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		transactionTracker.begin(transaction, definition);
+		try {
+			super.doBegin(transaction, definition);
+		} catch (RuntimeException | Error e) {
+			transactionTracker.end(transaction);
+			throw e;
+		}
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		if (status.isReadOnly()) {
+			super.doCommit(status);
+			return;
+		}
+		BookingPhaseEvent.record(BookingPhaseEvent.COMMIT, () -> super.doCommit(status));
+	}
+
+	@Override
+	protected void doCleanupAfterCompletion(Object transaction) {
+		transactionTracker.end(transaction);
+		super.doCleanupAfterCompletion(transaction);
+	}
+}
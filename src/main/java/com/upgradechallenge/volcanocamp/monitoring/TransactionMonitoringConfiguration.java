@@ -0,0 +1,22 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class TransactionMonitoringConfiguration {
+
+	/**
+	 * Replaces the auto-configured JpaTransactionManager, which backs off when a transaction manager is defined.
+	 */
+	@Bean
+	public PlatformTransactionManager transactionManager(TransactionTracker transactionTracker,
+			ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+		TrackingJpaTransactionManager transactionManager = new TrackingJpaTransactionManager(transactionTracker);
+		transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+		return transactionManager;
+	}
+}
@@ -0,0 +1,74 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Keeps track of the physical transactions currently open, from the moment they start waiting for a connection
+ * until they are cleaned up, and records their duration in the volcanocamp.transactions timer.
+ */
+@Component
+public class TransactionTracker {
+
+	private static final String TRANSACTION_TIMER = "volcanocamp.transactions";
+
+	private final Map<Object, ActiveTransaction> activeTransactions = new ConcurrentHashMap<>();
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	public void begin(Object transaction, TransactionDefinition definition) {
+		activeTransactions.put(transaction, new ActiveTransaction(definition.getName(), definition.isReadOnly(),
+				Thread.currentThread().getName(), Instant.now(), System.nanoTime()));
+	}
+
+	public void end(Object transaction) {
+		ActiveTransaction activeTransaction = activeTransactions.remove(transaction);
+		if (activeTransaction != null) {
+			Timer.builder(TRANSACTION_TIMER).tag("readOnly", Boolean.toString(activeTransaction.isReadOnly()))
+					.register(meterRegistry)
+					.record(System.nanoTime() - activeTransaction.getStartNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+	public int getActiveCount() {
+		return activeTransactions.size();
+	}
+
+	/**
+	 * @param limit (int) Maximum number of transactions to return
+	 * @return (List<ActiveTransaction>) Open transactions, longest running first
+	 */
+	public List<ActiveTransaction> getLongestRunning(int limit) {
+		return activeTransactions.values().stream().sorted(Comparator.comparingLong(ActiveTransaction::getStartNanos))
+				.limit(limit).collect(Collectors.toList());
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class ActiveTransaction {
+		private final String name;
+		private final boolean readOnly;
+		private final String threadName;
+		private final Instant startedAt;
+		private final long startNanos;
+
+		public long getDurationMs() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		}
+	}
+}
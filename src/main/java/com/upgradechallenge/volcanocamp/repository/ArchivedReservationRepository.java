@@ -0,0 +1,43 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, UUID> {
+
+	// Same lookups by email as ReservationRepository, merged with them in (check-in date, id) order
+	@Query("select a from ArchivedReservation a where a.userEmailLower = lower(?1) and a.checkinDate >= ?2 "
+			+ "and a.checkinDate < ?3 order by a.checkinDate, a.id")
+	List<ArchivedReservation> findFirstPageByUserEmail(String userEmail, LocalDate fromDate, LocalDate toDate,
+			Pageable pageable);
+
+	@Query("select a from ArchivedReservation a where a.userEmailLower = lower(?1) and a.checkinDate < ?3 "
+			+ "and (a.checkinDate > ?2 or (a.checkinDate = ?2 and a.id > ?4)) order by a.checkinDate, a.id")
+	List<ArchivedReservation> findNextPageByUserEmail(String userEmail, LocalDate afterCheckinDate,
+			LocalDate toDate, UUID afterId, Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = QueryHints.HINT_READONLY, value = "true") })
+	@Query("select a from ArchivedReservation a where a.userEmailLower = lower(?1) and a.checkinDate >= ?2 "
+			+ "and a.checkinDate < ?3 order by a.checkinDate, a.id")
+	Stream<ArchivedReservation> streamByUserEmail(String userEmail, LocalDate fromDate, LocalDate toDate);
+
+	@QueryHints({ @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = QueryHints.HINT_READONLY, value = "true") })
+	@Query("select a from ArchivedReservation a order by a.id")
+	Stream<ArchivedReservation> streamAll();
+
+}
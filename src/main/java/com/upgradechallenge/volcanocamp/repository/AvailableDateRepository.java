@@ -0,0 +1,72 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Computes the free dates of a period in the database: every date of the period is generated by the query and
+ * anti-joined with the reservationdate table, so that only the free dates are returned, as plain values without
+ * going through the persistence context.
+ */
+@Repository
+public class AvailableDateRepository {
+
+	// PostgreSQL generates the dates of [fromDate, toDate) with generate_series
+	private static final String POSTGRES_FREE_DATES_QUERY = "select cast(series.d as date) from generate_series("
+			+ "cast(? as timestamp), cast(? as timestamp) - interval '1 day', interval '1 day') as series(d)"
+			+ " where not exists (select 1 from reservationdate rd where rd.date = cast(series.d as date))"
+			+ " order by 1";
+
+	// Other databases (H2) generate them with a recursive common table expression
+	private static final String RECURSIVE_FREE_DATES_QUERY = "with recursive series(d) as ("
+			+ "select cast(? as date) union all select dateadd('DAY', 1, d) from series where d < cast(? as date))"
+			+ " select d from series where d < cast(? as date)"
+			+ " and not exists (select 1 from reservationdate rd where rd.date = series.d) order by d";
+
+	private static final RowMapper<LocalDate> DATE_MAPPER = (resultSet, rowNum) -> resultSet.getObject(1,
+			LocalDate.class);
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	private volatile Boolean postgres;
+
+	/**
+	 * Finds the dates of [fromDate, toDate) not held by any reservation.
+	 * 
+	 * @param fromDate (LocalDate) First date of the period
+	 * @param toDate (LocalDate) Date following the last date of the period
+	 * @return (List<LocalDate>) Free dates of the period in ascending order
+	 */
+	@Transactional(readOnly = true)
+	public List<LocalDate> findFreeDatesInInterval(LocalDate fromDate, LocalDate toDate) {
+		if (isPostgres()) {
+			return jdbcTemplate.query(POSTGRES_FREE_DATES_QUERY, DATE_MAPPER, fromDate, toDate);
+		}
+		return jdbcTemplate.query(RECURSIVE_FREE_DATES_QUERY, DATE_MAPPER, fromDate, toDate.minusDays(1), toDate);
+	}
+
+	private boolean isPostgres() {
+		if (postgres == null) {
+			try {
+				String productName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+						DatabaseMetaData::getDatabaseProductName);
+				postgres = DatabaseDriver.fromProductName(productName) == DatabaseDriver.POSTGRESQL;
+			} catch (MetaDataAccessException e) {
+				throw new IllegalStateException("Unable to determine the database product", e);
+			}
+		}
+		return postgres;
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.model.DateCapacity;
+
+@Repository
+public interface DateCapacityRepository extends JpaRepository<DateCapacity, LocalDate> {
+
+	// Takes one pitch on every date of [fromDate, toDate) that has one left, in a single statement. A result lower
+	// than the number of dates means at least one of them is sold out or not provisioned
+	@Modifying(flushAutomatically = true)
+	@Query("update DateCapacity c set c.remaining = c.remaining - 1 where c.date >= ?1 and c.date < ?2 and c.remaining > 0")
+	int claimPitchInInterval(LocalDate fromDate, LocalDate toDate);
+
+	@Modifying(flushAutomatically = true)
+	@Query("update DateCapacity c set c.remaining = c.remaining + 1 where c.date >= ?1 and c.date < ?2"
+			+ " and c.remaining < c.capacity")
+	int releasePitchInInterval(LocalDate fromDate, LocalDate toDate);
+
+	@Transactional(readOnly = true)
+	@Query("select c from DateCapacity c where c.date >= ?1 and c.date < ?2 order by c.date")
+	List<DateCapacity> findCapacityInInterval(LocalDate fromDate, LocalDate toDate);
+
+	@Transactional(readOnly = true)
+	@Query("select c.date from DateCapacity c where c.date >= ?1 and c.date < ?2 and c.remaining = 0")
+	List<LocalDate> findSoldOutDatesInInterval(LocalDate fromDate, LocalDate toDate);
+
+	@Query("select max(c.date) from DateCapacity c")
+	LocalDate findLastProvisionedDate();
+
+}
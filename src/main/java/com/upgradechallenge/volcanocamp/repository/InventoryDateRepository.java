@@ -0,0 +1,45 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.model.InventoryDate;
+
+@Repository
+public interface InventoryDateRepository extends JpaRepository<InventoryDate, LocalDate> {
+
+	// Hibernate lock timeout value rendering FOR UPDATE SKIP LOCKED, rows held by a concurrent booking are left out
+	String SKIP_LOCKED = "-2";
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+	@Query("select d from InventoryDate d where d.date >= ?1 and d.date < ?2"
+			+ " and d.status = com.upgradechallenge.volcanocamp.model.InventoryStatus.FREE")
+	List<InventoryDate> claimFreeDatesInInterval(LocalDate fromDate, LocalDate toDate);
+
+	@Transactional(readOnly = true)
+	@Query("select d.date from InventoryDate d where d.date >= ?1 and d.date < ?2"
+			+ " and d.status = com.upgradechallenge.volcanocamp.model.InventoryStatus.TAKEN")
+	List<LocalDate> findTakenDatesInInterval(LocalDate fromDate, LocalDate toDate);
+
+	@Modifying(flushAutomatically = true)
+	@Query("update InventoryDate d set d.status = com.upgradechallenge.volcanocamp.model.InventoryStatus.FREE,"
+			+ " d.reservationId = null where d.reservationId = ?1 and d.date >= ?2 and d.date < ?3")
+	int releaseDatesInInterval(UUID reservationId, LocalDate fromDate, LocalDate toDate);
+
+	@Query("select max(d.date) from InventoryDate d")
+	LocalDate findLastProvisionedDate();
+
+}
@@ -0,0 +1,23 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.upgradechallenge.volcanocamp.model.OccupancyHistory;
+
+@Repository
+public interface OccupancyHistoryRepository extends JpaRepository<OccupancyHistory, String> {
+
+	// Atomic increment, returns 0 if the month has no history yet
+	@Modifying
+	@Query("update OccupancyHistory h set h.occupiedNights = h.occupiedNights + ?2 where h.month = ?1")
+	int addOccupiedNights(String month, long nights);
+
+	// Plain insert rather than a merge, a month inserted concurrently fails on its primary key
+	@Modifying
+	@Query(value = "insert into occupancy_history (month, occupied_nights) values (?1, ?2)", nativeQuery = true)
+	int insertOccupiedNights(String month, long nights);
+
+}
@@ -2,25 +2,53 @@ package com.upgradechallenge.volcanocamp.repository;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
 
 import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.upgradechallenge.volcanocamp.model.ReservationDate;
 
 @Repository
-public interface ReservationDateRepository extends JpaRepository<ReservationDate, UUID> {
-	
+public interface ReservationDateRepository extends JpaRepository<ReservationDate, LocalDate> {
+
+	// Bounded wait for locks held by concurrent bookings, a timeout surfaces as a PessimisticLockingFailureException
+	String LOCK_TIMEOUT_MS = "2000";
+
 	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = LOCK_TIMEOUT_MS))
 	@Query("select rd from ReservationDate rd where rd.date >= ?1 and rd.date < ?2")
 	List<ReservationDate> findActiveReservationsInInterval(LocalDate fromDate, LocalDate toDate);
 	
+	@Transactional(readOnly = true)
 	@Query("select rd from ReservationDate rd where rd.date >= ?1 and rd.date < ?2")
 	List<ReservationDate> findActiveReservationsInIntervalNonLocked(LocalDate fromDate, LocalDate toDate);
+
+	@Query("select rd.date from ReservationDate rd where rd.date >= ?1 and rd.date < ?2")
+	List<LocalDate> findOccupiedDatesInInterval(LocalDate fromDate, LocalDate toDate);
+
+	// Transaction-scoped PostgreSQL advisory lock, waits are bounded by the session lock_timeout
+	@Query(value = "select 1 from pg_advisory_xact_lock(?1, ?2)", nativeQuery = true)
+	int acquireAdvisoryTransactionLock(int namespace, int key);
+
+	// PostgreSQL notification, delivered to the channel listeners only once the current transaction commits
+	@Query(value = "select 1 from pg_notify(?1, ?2)", nativeQuery = true)
+	int notifyChannel(String channel, String payload);
+
+	// Oldest occupied dates first, pruned in batches once they fall behind the retention window
+	@Query("select rd.date from ReservationDate rd where rd.date < ?1 order by rd.date")
+	List<LocalDate> findOccupiedDatesBefore(LocalDate cutoffDate, Pageable pageable);
+
+	@Modifying(flushAutomatically = true)
+	@Query("delete from ReservationDate rd where rd.date >= ?1 and rd.date < ?2")
+	int deleteReservationDatesInInterval(LocalDate fromDate, LocalDate toDate);
 	
 }
@@ -1,9 +1,17 @@
 package com.upgradechallenge.volcanocamp.repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.upgradechallenge.volcanocamp.model.Reservation;
@@ -11,4 +19,29 @@ import com.upgradechallenge.volcanocamp.model.Reservation;
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
 	Optional<Reservation> findById(UUID id);
+
+	@Query("select r from Reservation r where r.active = false or r.checkoutDate < ?1 order by r.checkoutDate")
+	List<Reservation> findArchivableReservations(LocalDate today, Pageable pageable);
+
+	// Emails are matched whatever their case. Archived reservations are looked up in ArchivedReservationRepository
+	@Query("select r from Reservation r where r.userEmailLower = lower(?1) and r.checkinDate >= ?2 and r.checkinDate < ?3 "
+			+ "order by r.checkinDate, r.id")
+	List<Reservation> findFirstPageByUserEmail(String userEmail, LocalDate fromDate, LocalDate toDate,
+			Pageable pageable);
+
+	@Query("select r from Reservation r where r.userEmailLower = lower(?1) and r.checkinDate < ?3 "
+			+ "and (r.checkinDate > ?2 or (r.checkinDate = ?2 and r.id > ?4)) order by r.checkinDate, r.id")
+	List<Reservation> findNextPageByUserEmail(String userEmail, LocalDate afterCheckinDate, LocalDate toDate,
+			UUID afterId, Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = QueryHints.HINT_READONLY, value = "true") })
+	@Query("select r from Reservation r where r.userEmailLower = lower(?1) and r.checkinDate >= ?2 and r.checkinDate < ?3 "
+			+ "order by r.checkinDate, r.id")
+	Stream<Reservation> streamByUserEmail(String userEmail, LocalDate fromDate, LocalDate toDate);
+
+	@QueryHints({ @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = QueryHints.HINT_READONLY, value = "true") })
+	@Query("select r from Reservation r order by r.id")
+	Stream<Reservation> streamAll();
 }
@@ -0,0 +1,43 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.model.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+	// Waiting entries overlapping [fromDate, toDate), oldest first. The check-in lower bound keeps the scan of the
+	// (status, checkin_date) index short, no stay can overlap fromDate while checking in before it
+	@Query("select e from WaitlistEntry e where e.status = com.upgradechallenge.volcanocamp.model.WaitlistStatus.WAITING"
+			+ " and e.checkinDate >= ?1 and e.checkinDate < ?3 and e.checkoutDate > ?2 order by e.createdAt, e.id")
+	List<WaitlistEntry> findWaitingEntriesOverlapping(LocalDate minCheckinDate, LocalDate fromDate, LocalDate toDate);
+
+	// Only one of concurrent promotions of an entry gets a row count of 1, the others must not book it
+	@Transactional
+	@Modifying
+	@Query("update WaitlistEntry e set e.status = com.upgradechallenge.volcanocamp.model.WaitlistStatus.PROMOTED"
+			+ " where e.id = ?1 and e.status = com.upgradechallenge.volcanocamp.model.WaitlistStatus.WAITING")
+	int claimForPromotion(UUID entryId);
+
+	// Waiting entries checking in before the first bookable date can no longer be booked
+	@Transactional
+	@Modifying
+	@Query("update WaitlistEntry e set e.status = com.upgradechallenge.volcanocamp.model.WaitlistStatus.EXPIRED"
+			+ " where e.status = com.upgradechallenge.volcanocamp.model.WaitlistStatus.WAITING and e.checkinDate < ?1")
+	int expireWaitingEntriesBefore(LocalDate firstBookableDate);
+
+	@Transactional
+	@Modifying
+	@Query("update WaitlistEntry e set e.reservationId = ?2 where e.id = ?1")
+	int assignReservation(UUID entryId, UUID reservationId);
+
+}
@@ -0,0 +1,43 @@
+package com.upgradechallenge.volcanocamp.scheduler;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.InventoryConfiguration;
+import com.upgradechallenge.volcanocamp.service.InventoryProvisioner;
+
+@Component
+@ConditionalOnExpression("'${reservation.booking.mode:locking}' == 'inventory' or '${reservation.booking.mode:locking}' == 'capacity'")
+public class InventoryProvisioningScheduler {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(InventoryProvisioningScheduler.class);
+
+	@Autowired
+	InventoryProvisioner provisioningService;
+
+	@Autowired
+	InventoryConfiguration inventoryConfig;
+
+	/**
+	 * Keeps the inventory provisioned across the booking horizon, starting right away so that bookings find their
+	 * rows as soon as the application is up.
+	 */
+	@Scheduled(initialDelay = 0, fixedDelayString = "${reservation.inventory.provisioningDelayMs}")
+	public void provisionInventory() {
+		LocalDate today = LocalDate.now();
+		try {
+			int provisionedDates = provisioningService.provisionUntil(today,
+					today.plusDays(inventoryConfig.getHorizonDays()));
+			log.info("Inventory provisioning run completed, {} dates created", provisionedDates);
+		} catch (DataIntegrityViolationException e) {
+			// Another instance provisioned the same dates concurrently, the next run picks up whatever is left
+			log.info("Inventory dates already provisioned by another instance");
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.upgradechallenge.volcanocamp.scheduler;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.ArchivalConfiguration;
+import com.upgradechallenge.volcanocamp.service.ReservationArchivalService;
+
+@Component
+@ConditionalOnProperty(prefix = "reservation.archival", name = "enabled", havingValue = "true")
+public class ReservationArchivalScheduler {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationArchivalScheduler.class);
+
+	@Autowired
+	ReservationArchivalService archivalService;
+
+	@Autowired
+	ArchivalConfiguration archivalConfig;
+
+	/**
+	 * Periodically drains cancelled and checked-out Reservations into the archive, one short transaction per batch
+	 * so that the booking path never waits long on rows being archived.
+	 */
+	@Scheduled(initialDelayString = "${reservation.archival.initialDelayMs}", fixedDelayString = "${reservation.archival.fixedDelayMs}")
+	public void archiveReservations() {
+		LocalDate today = LocalDate.now();
+		int totalArchived = 0;
+
+		for (int batch = 0; batch < archivalConfig.getMaxBatchesPerRun(); batch++) {
+			int archived = archivalService.archiveBatch(today, archivalConfig.getBatchSize());
+			totalArchived += archived;
+			if (archived < archivalConfig.getBatchSize()) {
+				break;
+			}
+		}
+
+		log.info("Reservation archival run completed, {} reservations archived", totalArchived);
+	}
+}
@@ -0,0 +1,46 @@
+package com.upgradechallenge.volcanocamp.scheduler;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.PruningConfiguration;
+import com.upgradechallenge.volcanocamp.service.ReservationDatePruningService;
+
+@Component
+@ConditionalOnProperty(prefix = "reservation.pruning", name = "enabled", havingValue = "true")
+public class ReservationDatePruningScheduler {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationDatePruningScheduler.class);
+
+	@Autowired
+	ReservationDatePruningService pruningService;
+
+	@Autowired
+	PruningConfiguration pruningConfig;
+
+	/**
+	 * Periodically prunes the occupied dates that fell behind the retention window, so that the reservationdate table
+	 * and its index stay bounded to the booking horizon and the locked range scans keep a constant cost.
+	 */
+	@Scheduled(initialDelayString = "${reservation.pruning.initialDelayMs}", fixedDelayString = "${reservation.pruning.fixedDelayMs}")
+	public void pruneReservationDates() {
+		LocalDate cutoffDate = LocalDate.now().minusDays(pruningConfig.getRetentionDays());
+		int totalPruned = 0;
+
+		for (int batch = 0; batch < pruningConfig.getMaxBatchesPerRun(); batch++) {
+			int pruned = pruningService.pruneBatch(cutoffDate, pruningConfig.getBatchSize(),
+					pruningConfig.isHistoryEnabled());
+			totalPruned += pruned;
+			if (pruned < pruningConfig.getBatchSize()) {
+				break;
+			}
+		}
+
+		log.info("Reservation date pruning run completed, {} dates before {} pruned", totalPruned, cutoffDate);
+	}
+}
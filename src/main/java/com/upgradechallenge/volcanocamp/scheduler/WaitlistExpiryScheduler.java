@@ -0,0 +1,30 @@
+package com.upgradechallenge.volcanocamp.scheduler;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.service.WaitlistService;
+
+@Component
+@ConditionalOnProperty(prefix = "reservation.waitlist.expiry", name = "enabled", havingValue = "true")
+public class WaitlistExpiryScheduler {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(WaitlistExpiryScheduler.class);
+
+	@Autowired
+	WaitlistService waitlistService;
+
+	/**
+	 * Periodically expires the waiting entries that can no longer be booked, so that promotions stop scanning them
+	 * and their guests see they will not be served.
+	 */
+	@Scheduled(initialDelayString = "${reservation.waitlist.expiry.initialDelayMs}", fixedDelayString = "${reservation.waitlist.expiry.fixedDelayMs}")
+	public void expireWaitlistEntries() {
+		int expiredEntries = waitlistService.expirePastEntries();
+
+		log.info("Waitlist expiry run completed, {} entries expired", expiredEntries);
+	}
+}
@@ -0,0 +1,93 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Booking mode serializing bookings on the dates they touch through a DateRangeLocker rather than through the
+ * isolation level: once the buckets of the requested dates are locked, a plain read at READ_COMMITTED is enough to
+ * check that they are free, and bookings of other buckets proceed concurrently.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "advisory")
+public class AdvisoryLockReservationService extends ReservationService {
+
+	@Autowired
+	DateRangeLocker dateRangeLocker;
+
+	@Override
+	public Isolation getCreateIsolation() {
+		return Isolation.READ_COMMITTED;
+	}
+
+	/**
+	 * Saves a new Reservation while holding the locks on its dates.
+	 * 
+	 * @param reservationToSave (Reservation) Reservation to persist in the database
+	 * @return Reservation saved in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation createNewReservation(Reservation reservationToSave) {
+
+		DateRange range = DateRange.of(reservationToSave.getCheckinDate(), reservationToSave.getCheckoutDate());
+		BookingPhaseEvent.record(BookingPhaseEvent.LOCK_ACQUISITION,
+				() -> dateRangeLocker.lock(Collections.singletonList(range)));
+		checkAvailable(Collections.singletonList(range));
+
+		reservationToSave.setActive(true);
+		BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE,
+				() -> rewriteReservationDates(Collections.emptyList(), Collections.singletonList(range)));
+
+		Reservation savedReservation = reservationRepo.save(reservationToSave);
+		recordReservationChange(savedReservation.getId(), Collections.singletonList(
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate())));
+
+		return savedReservation;
+	}
+
+	/**
+	 * Updates a Reservation while holding the locks on the dates it gains.
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @param reservationToUpdate (Reservation) Reservation to update in the database
+	 * @return Reservation updated in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation updateReservation(String reservationId, Reservation reservationToUpdate) {
+
+		Reservation savedReservation = findActiveReservation(reservationId);
+
+		DateRange oldRange = DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate());
+		DateRange newRange = DateRange.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
+		List<DateRange> addedRanges = newRange.minus(oldRange);
+
+		BookingPhaseEvent.record(BookingPhaseEvent.LOCK_ACQUISITION, () -> dateRangeLocker.lock(addedRanges));
+		checkAvailable(addedRanges);
+		BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE,
+				() -> rewriteReservationDates(oldRange.minus(newRange), addedRanges));
+
+		return applyReservationUpdate(savedReservation, reservationToUpdate);
+	}
+
+	private void checkAvailable(List<DateRange> ranges) {
+		for (DateRange range : ranges) {
+			if (!BookingPhaseEvent.record(BookingPhaseEvent.CONFLICT_CHECK, () -> reservationDateRepo
+					.findActiveReservationsInIntervalNonLocked(range.getStart(), range.getEnd())).isEmpty()) {
+				throw new OccupiedPeriodException();
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.configuration.CapacityConfiguration;
+import com.upgradechallenge.volcanocamp.model.DateCapacity;
+import com.upgradechallenge.volcanocamp.repository.DateCapacityRepository;
+
+/**
+ * Provisions one datecapacity row per date, holding reservation.capacity.pitches pitches, for the capacity booking
+ * mode. Rows already provisioned keep the capacity they were created with.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "capacity")
+public class CapacityProvisioningService implements InventoryProvisioner {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(CapacityProvisioningService.class);
+
+	@Autowired
+	DateCapacityRepository dateCapacityRepo;
+
+	@Autowired
+	CapacityConfiguration capacityConfig;
+
+	@Override
+	@Transactional
+	public int provisionUntil(LocalDate today, LocalDate horizonEnd) {
+		LocalDate lastProvisionedDate = dateCapacityRepo.findLastProvisionedDate();
+		LocalDate firstMissingDate = lastProvisionedDate == null || lastProvisionedDate.isBefore(today) ? today
+				: lastProvisionedDate.plusDays(1);
+
+		if (firstMissingDate.isAfter(horizonEnd)) {
+			return 0;
+		}
+
+		List<DateCapacity> newDates = Stream.iterate(firstMissingDate, date -> date.plusDays(1))
+				.limit(ChronoUnit.DAYS.between(firstMissingDate, horizonEnd.plusDays(1)))
+				.map(date -> DateCapacity.free(date, capacityConfig.getPitches())).collect(Collectors.toList());
+		dateCapacityRepo.saveAll(newDates);
+
+		log.debug("Provisioned {} capacity dates from {} to {}", newDates.size(), firstMissingDate, horizonEnd);
+
+		return newDates.size();
+	}
+}
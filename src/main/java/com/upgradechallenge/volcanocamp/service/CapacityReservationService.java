@@ -0,0 +1,161 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.exception.MethodNotAllowedException;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.DateCapacity;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
+import com.upgradechallenge.volcanocamp.repository.DateCapacityRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Booking mode for a camp site with several pitches: every date holds a counter of free pitches, pre-created by
+ * the provisioning job, which a booking decrements on all its dates with one conditional UPDATE. Bookings of the
+ * same dates only hold the row locks of that UPDATE until commit, so many parties can book the same night.
+ * A date is reported as occupied once its last pitch is taken.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "capacity")
+public class CapacityReservationService extends ReservationService {
+
+	private static final String VALIDATION_ERROR_DATE_QUERY_PARAMS = "The check-in date must be before the check-out date";
+	private static final String VALIDATION_ERROR_IMPORT = "Reservations cannot be imported in the capacity booking mode";
+
+	@Autowired
+	DateCapacityRepository dateCapacityRepo;
+
+	@Autowired
+	SoldOutDates soldOutDates;
+
+	@Override
+	public Isolation getCreateIsolation() {
+		return Isolation.READ_COMMITTED;
+	}
+
+	/**
+	 * Saves a new Reservation after taking a pitch on every date of its period.
+	 * 
+	 * @param reservationToSave (Reservation) Reservation to persist in the database
+	 * @return Reservation saved in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation createNewReservation(Reservation reservationToSave) {
+
+		claimPitch(DateRange.of(reservationToSave.getCheckinDate(), reservationToSave.getCheckoutDate()));
+		reservationToSave.setActive(true);
+
+		Reservation savedReservation = reservationRepo.save(reservationToSave);
+		recordReservationChange(savedReservation.getId(), Collections.singletonList(
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate())));
+
+		return savedReservation;
+	}
+
+	/**
+	 * Updates a Reservation by taking a pitch on the dates it gained and giving back the one on the dates it no
+	 * longer holds.
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @param reservationToUpdate (Reservation) Reservation to update in the database
+	 * @return Reservation updated in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation updateReservation(String reservationId, Reservation reservationToUpdate) {
+
+		Reservation savedReservation = findActiveReservation(reservationId);
+
+		DateRange oldRange = DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate());
+		DateRange newRange = DateRange.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
+
+		for (DateRange addedRange : newRange.minus(oldRange)) {
+			claimPitch(addedRange);
+		}
+		for (DateRange removedRange : oldRange.minus(newRange)) {
+			releasePitch(removedRange);
+		}
+
+		return applyReservationUpdate(savedReservation, reservationToUpdate);
+	}
+
+	// Imports only write the reservationdate table, dates of this mode are held in the datecapacity table
+	@Override
+	public List<Reservation> importReservations(List<Reservation> reservations) {
+		throw new MethodNotAllowedException(VALIDATION_ERROR_IMPORT);
+	}
+
+	@Override
+	public SortedMap<LocalDate, Integer> getRemainingCapacity(LocalDate startDate, LocalDate endDate) {
+
+		if (startDate.isAfter(endDate)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
+		}
+
+		SortedMap<LocalDate, Integer> remainingCapacity = new TreeMap<>();
+		for (DateCapacity dateCapacity : dateCapacityRepo.findCapacityInInterval(startDate, endDate.plusDays(1))) {
+			remainingCapacity.put(dateCapacity.getDate(), dateCapacity.getRemaining());
+		}
+		// Dates beyond the provisioned horizon cannot be booked yet
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+			remainingCapacity.putIfAbsent(date, 0);
+		}
+		soldOutDates.record(remainingCapacity.entrySet().stream().filter(entry -> entry.getValue() == 0)
+				.map(SortedMap.Entry::getKey).collect(Collectors.toList()));
+
+		return remainingCapacity;
+	}
+
+	@Override
+	protected void releaseReservationDates(Reservation reservation) {
+		releasePitch(DateRange.of(reservation.getCheckinDate(), reservation.getCheckoutDate()));
+	}
+
+	@Override
+	protected List<LocalDate> loadOccupiedDates(LocalDate startDate, LocalDate endDate) {
+		List<LocalDate> soldOut = dateCapacityRepo.findSoldOutDatesInInterval(startDate, endDate);
+		soldOutDates.record(soldOut);
+		return soldOut;
+	}
+
+	// A date stays available until its last pitch is taken, which only the datecapacity table tells
+	@Override
+	protected List<LocalDate> loadAvailableDates(LocalDate startDate, LocalDate endDate) {
+		return excludeOccupiedDates(startDate, endDate, loadOccupiedDates(startDate, endDate));
+	}
+
+	private void claimPitch(DateRange range) {
+		// Dates recently seen sold out are turned down without a round trip
+		if (soldOutDates.anySoldOut(range)) {
+			throw new OccupiedPeriodException();
+		}
+
+		int claimedDates = BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE,
+				() -> dateCapacityRepo.claimPitchInInterval(range.getStart(), range.getEnd()));
+		// Pitches already taken on the other dates are given back by the rollback
+		if (claimedDates != ChronoUnit.DAYS.between(range.getStart(), range.getEnd())) {
+			throw new OccupiedPeriodException();
+		}
+	}
+
+	private void releasePitch(DateRange range) {
+		dateCapacityRepo.releasePitchInInterval(range.getStart(), range.getEnd());
+		soldOutDates.forget(range);
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Serializes bookings touching the same dates by locking buckets of consecutive dates until the current transaction
+ * completes. Buckets are always acquired in ascending order, so two bookings can never deadlock on each other.
+ */
+public interface DateRangeLocker {
+
+	/**
+	 * Blocks until every date of the given ranges is locked for the rest of the current transaction.
+	 * 
+	 * @param ranges (List<DateRange>) Ranges of dates about to be reserved
+	 */
+	void lock(List<DateRange> ranges);
+
+	static SortedSet<Integer> bucketsOf(List<DateRange> ranges, int bucketDays) {
+		SortedSet<Integer> buckets = new TreeSet<>();
+		for (DateRange range : ranges) {
+			if (range.isEmpty()) {
+				continue;
+			}
+			long firstBucket = Math.floorDiv(range.getStart().toEpochDay(), bucketDays);
+			long lastBucket = Math.floorDiv(range.getEnd().toEpochDay() - 1, bucketDays);
+			for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+				buckets.add((int) bucket);
+			}
+		}
+		return buckets;
+	}
+}
@@ -0,0 +1,97 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.model.ReservationDate;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Booking mode relying on the reservationdate primary key for conflict detection: the dates are inserted right away
+ * at READ_COMMITTED, without a locked read of the period beforehand, and a duplicate key means the period is taken.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "insert-first")
+public class InsertFirstReservationService extends ReservationService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(InsertFirstReservationService.class);
+
+	@Override
+	public Isolation getCreateIsolation() {
+		return Isolation.READ_COMMITTED;
+	}
+
+	/**
+	 * Saves a new Reservation, failing on the first of its dates already reserved.
+	 * 
+	 * @param reservationToSave (Reservation) Reservation to persist in the database
+	 * @return Reservation saved in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation createNewReservation(Reservation reservationToSave) {
+
+		reservationToSave.setActive(true);
+		insertReservationDates(convertLocalDateListToReservationList(
+				extractDatesBetweenTwoDates(reservationToSave.getCheckinDate(), reservationToSave.getCheckoutDate())));
+
+		Reservation savedReservation = reservationRepo.save(reservationToSave);
+		recordReservationChange(savedReservation.getId(), Collections.singletonList(
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate())));
+
+		return savedReservation;
+	}
+
+	/**
+	 * Updates a Reservation by releasing the dates it no longer holds and inserting the ones it gained, failing if
+	 * any of the gained dates is reserved by another reservation.
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @param reservationToUpdate (Reservation) Reservation to update in the database
+	 * @return Reservation updated in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation updateReservation(String reservationId, Reservation reservationToUpdate) {
+
+		Reservation savedReservation = findActiveReservation(reservationId);
+
+		DateRange oldRange = DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate());
+		DateRange newRange = DateRange.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
+		rewriteReservationDates(oldRange.minus(newRange), newRange.minus(oldRange));
+
+		return applyReservationUpdate(savedReservation, reservationToUpdate);
+	}
+
+	@Override
+	protected void rewriteReservationDates(List<DateRange> removedRanges, List<DateRange> addedRanges) {
+
+		for (DateRange removedRange : removedRanges) {
+			reservationDateRepo.deleteReservationDatesInInterval(removedRange.getStart(), removedRange.getEnd());
+		}
+		insertReservationDates(toReservationDates(addedRanges));
+	}
+
+	private void insertReservationDates(List<ReservationDate> datesToReserve) {
+		log.debug("Inserting reservation dates, making them unavailable for others: {}", datesToReserve);
+		try {
+			// Flush right away so that a duplicate key surfaces here rather than at commit
+			BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE,
+					() -> reservationDateRepo.saveAllAndFlush(datesToReserve));
+		} catch (DataIntegrityViolationException e) {
+			log.debug("Reservation dates already taken: {}", datesToReserve);
+			throw new OccupiedPeriodException();
+		}
+	}
+
+}
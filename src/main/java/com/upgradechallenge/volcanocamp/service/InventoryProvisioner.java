@@ -0,0 +1,19 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+
+/**
+ * Creates ahead of time the per-date rows a booking mode works on.
+ */
+public interface InventoryProvisioner {
+
+	/**
+	 * Creates the rows missing for the dates from today up to the end of the booking horizon.
+	 * 
+	 * @param today (LocalDate) First bookable date
+	 * @param horizonEnd (LocalDate) Last date to provision, inclusive
+	 * @return (int) Number of rows created
+	 */
+	int provisionUntil(LocalDate today, LocalDate horizonEnd);
+
+}
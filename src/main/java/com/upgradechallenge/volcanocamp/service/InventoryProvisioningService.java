@@ -0,0 +1,50 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.model.InventoryDate;
+import com.upgradechallenge.volcanocamp.repository.InventoryDateRepository;
+
+/**
+ * Provisions one free inventorydate row per date for the inventory booking mode.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "inventory")
+public class InventoryProvisioningService implements InventoryProvisioner {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(InventoryProvisioningService.class);
+
+	@Autowired
+	InventoryDateRepository inventoryDateRepo;
+
+	@Override
+	@Transactional
+	public int provisionUntil(LocalDate today, LocalDate horizonEnd) {
+		LocalDate lastProvisionedDate = inventoryDateRepo.findLastProvisionedDate();
+		LocalDate firstMissingDate = lastProvisionedDate == null || lastProvisionedDate.isBefore(today) ? today
+				: lastProvisionedDate.plusDays(1);
+
+		if (firstMissingDate.isAfter(horizonEnd)) {
+			return 0;
+		}
+
+		List<InventoryDate> newDates = Stream.iterate(firstMissingDate, date -> date.plusDays(1))
+				.limit(ChronoUnit.DAYS.between(firstMissingDate, horizonEnd.plusDays(1)))
+				.map(InventoryDate::free).collect(Collectors.toList());
+		inventoryDateRepo.saveAll(newDates);
+
+		log.debug("Provisioned {} inventory dates from {} to {}", newDates.size(), firstMissingDate, horizonEnd);
+
+		return newDates.size();
+	}
+}
@@ -0,0 +1,136 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.exception.MethodNotAllowedException;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.InventoryDate;
+import com.upgradechallenge.volcanocamp.model.InventoryStatus;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
+import com.upgradechallenge.volcanocamp.repository.InventoryDateRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Booking mode working on pre-created inventorydate rows: a booking locks the free rows of its period with
+ * SKIP LOCKED and marks them as taken. Only existing rows are ever locked, so READ_COMMITTED is enough and bookings
+ * of disjoint periods never wait on each other.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "inventory")
+public class InventoryReservationService extends ReservationService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(InventoryReservationService.class);
+
+	private static final String VALIDATION_ERROR_IMPORT = "Reservations cannot be imported in the inventory booking mode";
+
+	@Autowired
+	InventoryDateRepository inventoryDateRepo;
+
+	@Override
+	public Isolation getCreateIsolation() {
+		return Isolation.READ_COMMITTED;
+	}
+
+	/**
+	 * Saves a new Reservation after claiming every date of its period.
+	 * 
+	 * @param reservationToSave (Reservation) Reservation to persist in the database
+	 * @return Reservation saved in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation createNewReservation(Reservation reservationToSave) {
+
+		reservationToSave.setActive(true);
+		// Saved first so that the claimed dates can reference its id
+		Reservation savedReservation = reservationRepo.save(reservationToSave);
+		claimDates(savedReservation.getId(),
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate()));
+
+		recordReservationChange(savedReservation.getId(), Collections.singletonList(
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate())));
+
+		return savedReservation;
+	}
+
+	/**
+	 * Updates a Reservation by claiming the dates it gained and releasing the ones it no longer holds.
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @param reservationToUpdate (Reservation) Reservation to update in the database
+	 * @return Reservation updated in the database
+	 */
+	@Override
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public Reservation updateReservation(String reservationId, Reservation reservationToUpdate) {
+
+		Reservation savedReservation = findActiveReservation(reservationId);
+
+		DateRange oldRange = DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate());
+		DateRange newRange = DateRange.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
+
+		for (DateRange addedRange : newRange.minus(oldRange)) {
+			claimDates(savedReservation.getId(), addedRange);
+		}
+		for (DateRange removedRange : oldRange.minus(newRange)) {
+			inventoryDateRepo.releaseDatesInInterval(savedReservation.getId(), removedRange.getStart(),
+					removedRange.getEnd());
+		}
+
+		return applyReservationUpdate(savedReservation, reservationToUpdate);
+	}
+
+	// Imports only write the reservationdate table, dates of this mode are held in the inventorydate table
+	@Override
+	public List<Reservation> importReservations(List<Reservation> reservations) {
+		throw new MethodNotAllowedException(VALIDATION_ERROR_IMPORT);
+	}
+
+	@Override
+	protected void releaseReservationDates(Reservation reservation) {
+		int releasedDates = inventoryDateRepo.releaseDatesInInterval(reservation.getId(),
+				reservation.getCheckinDate(), reservation.getCheckoutDate());
+
+		log.debug("Released {} inventory dates, making them available for others", releasedDates);
+	}
+
+	@Override
+	protected List<LocalDate> loadOccupiedDates(LocalDate startDate, LocalDate endDate) {
+		return inventoryDateRepo.findTakenDatesInInterval(startDate, endDate);
+	}
+
+	// Taken dates live in the inventorydate table, the reservationdate one stays empty in this mode
+	@Override
+	protected List<LocalDate> loadAvailableDates(LocalDate startDate, LocalDate endDate) {
+		return excludeOccupiedDates(startDate, endDate, loadOccupiedDates(startDate, endDate));
+	}
+
+	private void claimDates(UUID reservationId, DateRange range) {
+		List<InventoryDate> freeDates = BookingPhaseEvent.record(BookingPhaseEvent.LOCK_ACQUISITION,
+				() -> inventoryDateRepo.claimFreeDatesInInterval(range.getStart(), range.getEnd()));
+
+		// A date taken, locked by a concurrent booking or beyond the provisioned horizon is missing from the result
+		if (freeDates.size() != ChronoUnit.DAYS.between(range.getStart(), range.getEnd())) {
+			throw new OccupiedPeriodException();
+		}
+
+		log.debug("Claiming inventory dates, making them unavailable for others: {}", range);
+		for (InventoryDate freeDate : freeDates) {
+			freeDate.setStatus(InventoryStatus.TAKEN);
+			freeDate.setReservationId(reservationId);
+		}
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.event.ReservationChangedEvent;
+
+/**
+ * Change channel of a single instance: committed changes are only delivered to this instance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.changes", name = "channel", havingValue = "local", matchIfMissing = true)
+public class LocalReservationChangeChannel {
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@TransactionalEventListener
+	public void onReservationChanged(ReservationChangedEvent event) {
+		eventPublisher.publishEvent(ReservationChangeNotification.of(event));
+	}
+}
@@ -0,0 +1,220 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgradechallenge.volcanocamp.configuration.ClusterConfiguration;
+import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.exception.ForwardedRequestException;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.exception.PartitionOwnerUnavailableException;
+import com.upgradechallenge.volcanocamp.exception.ResourceNotFoundException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+
+/**
+ * Sends bookings to the member owning their partition through its REST API, and maps its error answers back to the
+ * exceptions the owner raised. Forwarded requests are marked so that members disagreeing on ownership (while a
+ * member list change is rolled out) never forward a booking twice. The mark carries its time and an HMAC-SHA256 of
+ * the request line keyed with the secret shared by the members, so that clients cannot pass for a member.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "partitioned")
+public class PartitionForwarder {
+
+	public static final String FORWARDED_HEADER = "X-Volcanocamp-Forwarded";
+
+	private static final String RESERVATIONS_PATH = "/api/v1/reservations";
+	private static final String OWNER_TIMEOUT_ERROR = "The member owning the dates did not answer in time, the booking may have been made: check it before retrying";
+	private static final String OWNER_OVERLOADED_ERROR = "The member owning the dates is overloaded, please retry";
+	private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+	// Covers the clock skew between the members and the forward timeout
+	private static final long SIGNATURE_VALIDITY_MS = 60000;
+
+	private final RestTemplate restTemplate;
+	private final SecretKeySpec forwardKey;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	public PartitionForwarder(RestTemplateBuilder restTemplateBuilder, ClusterConfiguration clusterConfig) {
+		if (!StringUtils.hasText(clusterConfig.getForwardSecret())) {
+			throw new IllegalStateException("reservation.cluster.forwardSecret must be set in the partitioned booking mode");
+		}
+		this.forwardKey = new SecretKeySpec(clusterConfig.getForwardSecret().getBytes(StandardCharsets.UTF_8),
+				SIGNATURE_ALGORITHM);
+		Duration timeout = Duration.ofMillis(clusterConfig.getForwardTimeoutMs());
+		// PATCH is not supported by the default JDK request factory
+		this.restTemplate = restTemplateBuilder.requestFactory(HttpComponentsClientHttpRequestFactory.class)
+				.setConnectTimeout(timeout).setReadTimeout(timeout).build();
+	}
+
+	/**
+	 * @return true if the request being handled was forwarded by another member, false if it was not marked as such
+	 * @throws ForwardedRequestException if the request is marked as forwarded without a valid signature
+	 */
+	public boolean isForwardedRequest() {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (!(requestAttributes instanceof ServletRequestAttributes)) {
+			return false;
+		}
+		HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+		if (request.getHeader(FORWARDED_HEADER) == null) {
+			return false;
+		}
+		if (!isSignedForward(request)) {
+			throw new ForwardedRequestException();
+		}
+		return true;
+	}
+
+	/**
+	 * @param request (HttpServletRequest) Request being handled
+	 * @return true if the request carries a valid and recent forward signature of a member
+	 */
+	public boolean isSignedForward(HttpServletRequest request) {
+		String forwardedHeader = request.getHeader(FORWARDED_HEADER);
+		if (forwardedHeader == null) {
+			return false;
+		}
+		int separator = forwardedHeader.indexOf(':');
+		if (separator < 0) {
+			return false;
+		}
+
+		long timestamp;
+		try {
+			timestamp = Long.parseLong(forwardedHeader.substring(0, separator));
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		if (Math.abs(System.currentTimeMillis() - timestamp) > SIGNATURE_VALIDITY_MS) {
+			return false;
+		}
+
+		byte[] expectedSignature = sign(request.getMethod(), request.getRequestURI(), timestamp)
+				.getBytes(StandardCharsets.UTF_8);
+		return MessageDigest.isEqual(expectedSignature,
+				forwardedHeader.substring(separator + 1).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public Reservation forwardCreate(String owner, Reservation reservationToSave) {
+		return exchange(owner, RESERVATIONS_PATH, HttpMethod.POST, reservationToSave, null);
+	}
+
+	public Reservation forwardUpdate(String owner, String reservationId, Reservation reservationToUpdate) {
+		return exchange(owner, RESERVATIONS_PATH + "/" + reservationId, HttpMethod.PATCH, reservationToUpdate,
+				reservationId);
+	}
+
+	private Reservation exchange(String owner, String path, HttpMethod method, Reservation reservation,
+			String reservationId) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(FORWARDED_HEADER, forwardedHeader(method.name(), path, System.currentTimeMillis()));
+
+		try {
+			ReservationDto savedDto = restTemplate
+					.exchange(owner + path, method, new HttpEntity<>(toDto(reservation), headers), ReservationDto.class)
+					.getBody();
+			return toModel(savedDto);
+		} catch (HttpStatusCodeException e) {
+			throw toBusinessException(e, reservationId);
+		} catch (ResourceAccessException e) {
+			// Only a request that never reached the owner can be handled by another member
+			if (isConnectFailure(e)) {
+				throw e;
+			}
+			throw new PartitionOwnerUnavailableException(OWNER_TIMEOUT_ERROR);
+		}
+	}
+
+	String forwardedHeader(String method, String path, long timestamp) {
+		return timestamp + ":" + sign(method, path, timestamp);
+	}
+
+	private String sign(String method, String path, long timestamp) {
+		try {
+			Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+			mac.init(forwardKey);
+			byte[] signature = mac.doFinal((method + " " + path + " " + timestamp).getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to sign the forwarded request", e);
+		}
+	}
+
+	static boolean isConnectFailure(ResourceAccessException e) {
+		Throwable cause = e.getCause();
+		return cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+				|| cause instanceof NoRouteToHostException || cause instanceof UnknownHostException;
+	}
+
+	private RuntimeException toBusinessException(HttpStatusCodeException e, String reservationId) {
+		switch (e.getStatusCode()) {
+		case CONFLICT:
+			return new OccupiedPeriodException();
+		case BAD_REQUEST:
+			return new BadRequestException(firstDetail(e));
+		case NOT_FOUND:
+			return reservationId != null ? new ResourceNotFoundException(reservationId) : e;
+		case TOO_MANY_REQUESTS:
+		case SERVICE_UNAVAILABLE:
+			return new PartitionOwnerUnavailableException(OWNER_OVERLOADED_ERROR);
+		default:
+			return e;
+		}
+	}
+
+	private String firstDetail(HttpStatusCodeException e) {
+		try {
+			JsonNode details = objectMapper.readTree(e.getResponseBodyAsByteArray()).path("details");
+			return details.path(0).asText(e.getStatusText());
+		} catch (IOException unreadable) {
+			return e.getStatusText();
+		}
+	}
+
+	private ReservationDto toDto(Reservation reservation) {
+		return ReservationDto.builder().userEmail(reservation.getUserEmail())
+				.userFullName(reservation.getUserFullName()).checkinDate(reservation.getCheckinDate().toString())
+				.checkoutDate(reservation.getCheckoutDate().toString()).build();
+	}
+
+	private Reservation toModel(ReservationDto reservationDto) {
+		return Reservation.builder().id(reservationDto.getId()).active(reservationDto.isActive())
+				.userEmail(reservationDto.getUserEmail()).userFullName(reservationDto.getUserFullName())
+				.checkinDate(LocalDate.parse(reservationDto.getCheckinDate()))
+				.checkoutDate(LocalDate.parse(reservationDto.getCheckoutDate())).build();
+	}
+}
@@ -0,0 +1,79 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.ClusterConfiguration;
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.utils.HashRing;
+
+/**
+ * Assigns the partitions of the calendar (partitionDays consecutive check-in dates) to the cluster members through
+ * a consistent hash ring over the configured member list.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "partitioned")
+public class PartitionOwnership {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(PartitionOwnership.class);
+
+	private final ClusterConfiguration clusterConfig;
+	private final ApplicationEventPublisher eventPublisher;
+	private volatile HashRing ring;
+
+	public PartitionOwnership(ClusterConfiguration clusterConfig, ApplicationEventPublisher eventPublisher) {
+		this.clusterConfig = clusterConfig;
+		this.eventPublisher = eventPublisher;
+		this.ring = new HashRing(clusterConfig.getMembers(), clusterConfig.getVirtualNodes());
+	}
+
+	public long partitionOf(LocalDate date) {
+		return Math.floorDiv(date.toEpochDay(), clusterConfig.getPartitionDays());
+	}
+
+	public LocalDate partitionStart(long partition) {
+		return LocalDate.ofEpochDay(partition * clusterConfig.getPartitionDays());
+	}
+
+	public LocalDate partitionEnd(long partition) {
+		return partitionStart(partition + 1);
+	}
+
+	/**
+	 * @param checkinDate (LocalDate) Check-in date of the booking
+	 * @return (String) Base URL of the member owning the bookings starting on the date
+	 */
+	public String ownerOf(LocalDate checkinDate) {
+		return ring.ownerOf(Long.toString(partitionOf(checkinDate)));
+	}
+
+	public boolean isSelf(String member) {
+		return clusterConfig.getSelf().equals(member);
+	}
+
+	public List<String> getMembers() {
+		return ring.getMembers();
+	}
+
+	public String getSelf() {
+		return clusterConfig.getSelf();
+	}
+
+	/**
+	 * Moves ownership to a new member list, to be applied on every member. The in-memory state of this member is
+	 * dropped through a resync notification and the state of the partitions it now owns is rebuilt from the
+	 * reservationdate table on their next booking.
+	 * 
+	 * @param members (List<String>) Base URLs of all the cluster members, this one included
+	 */
+	public void updateMembers(List<String> members) {
+		ring = new HashRing(members, clusterConfig.getVirtualNodes());
+		log.info("Cluster members changed to {}", members);
+		eventPublisher.publishEvent(ReservationChangeNotification.resync());
+	}
+}
@@ -0,0 +1,209 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Booking mode spreading the bookings over the cluster members: the calendar is cut in partitions of check-in
+ * dates, each owned by one member (see PartitionOwnership), and bookings are forwarded to the owner of their
+ * check-in date. The owner admits bookings against its in-memory view of the occupied dates, built from the
+ * reservationdate table the first time it books in a partition, so that concurrent bookings of the same dates are
+ * turned down before reaching the database. The reservationdate primary key stays the authority (insert-first),
+ * which covers stays overlapping the next partition and members briefly disagreeing on ownership.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "partitioned")
+public class PartitionedReservationService extends InsertFirstReservationService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(PartitionedReservationService.class);
+
+	// Occupied dates of the owned partitions loaded so far, and of the stays starting in them, guarded by itself
+	private final Set<LocalDate> heldDates = new HashSet<>();
+	private final Set<Long> loadedPartitions = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	PartitionOwnership partitionOwnership;
+
+	@Autowired
+	PartitionForwarder partitionForwarder;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	/**
+	 * Saves a new Reservation on the member owning its check-in date. No transaction is held while forwarding.
+	 * 
+	 * @param reservationToSave (Reservation) Reservation to persist in the database
+	 * @return Reservation saved in the database
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Reservation createNewReservation(Reservation reservationToSave) {
+
+		String owner = partitionOwnership.ownerOf(reservationToSave.getCheckinDate());
+		if (!isHandledLocally(owner)) {
+			try {
+				return partitionForwarder.forwardCreate(owner, reservationToSave);
+			} catch (ResourceAccessException e) {
+				// The forwarder only lets connection failures through, the owner never saw the booking
+				log.warn("Partition owner {} unreachable, booking locally", owner, e);
+			}
+		}
+
+		DateRange range = DateRange.of(reservationToSave.getCheckinDate(), reservationToSave.getCheckoutDate());
+		claim(range);
+		try {
+			return newTransaction().execute(status -> super.createNewReservation(reservationToSave));
+		} catch (RuntimeException e) {
+			unclaim(Collections.singletonList(range));
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean isCreateJoiningTransaction() {
+		return false;
+	}
+
+	/**
+	 * Updates a Reservation on the member owning its new check-in date. No transaction is held while forwarding.
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @param reservationToUpdate (Reservation) Reservation to update in the database
+	 * @return Reservation updated in the database
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Reservation updateReservation(String reservationId, Reservation reservationToUpdate) {
+
+		String owner = partitionOwnership.ownerOf(reservationToUpdate.getCheckinDate());
+		if (!isHandledLocally(owner)) {
+			try {
+				return partitionForwarder.forwardUpdate(owner, reservationId, reservationToUpdate);
+			} catch (ResourceAccessException e) {
+				log.warn("Partition owner {} unreachable, updating locally", owner, e);
+			}
+		}
+
+		// Released whatever fails, the update or its commit
+		List<DateRange> claimedRanges = new ArrayList<>();
+		try {
+			return newTransaction().execute(status -> {
+				Reservation savedReservation = findActiveReservation(reservationId);
+				List<DateRange> addedRanges = DateRange
+						.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate())
+						.minus(DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate()));
+
+				for (DateRange addedRange : addedRanges) {
+					claim(addedRange);
+					claimedRanges.add(addedRange);
+				}
+				return super.updateReservation(reservationId, reservationToUpdate);
+			});
+		} catch (RuntimeException e) {
+			unclaim(claimedRanges);
+			throw e;
+		}
+	}
+
+	/**
+	 * Patches the in-memory view with the committed changes, of this member or relayed by the change channel from
+	 * the others, by reading back the changed dates. A resync drops the whole view, rebuilt on the next bookings.
+	 */
+	@Async
+	@EventListener
+	public void onReservationChange(ReservationChangeNotification notification) {
+		if (notification.isResync()) {
+			synchronized (heldDates) {
+				loadedPartitions.clear();
+				heldDates.clear();
+			}
+			return;
+		}
+
+		for (DateRange changedRange : notification.getChangedRanges()) {
+			// Loaded partitions whose view covers a date of the range: the range itself and the maxLength days before
+			long firstPartition = partitionOwnership
+					.partitionOf(changedRange.getStart().minusDays(reservationConfig.getMaxLength()));
+			long lastPartition = partitionOwnership.partitionOf(changedRange.getEnd());
+			boolean loaded = false;
+			for (long partition = firstPartition; partition <= lastPartition && !loaded; partition++) {
+				loaded = loadedPartitions.contains(partition);
+			}
+			if (loaded) {
+				List<LocalDate> occupiedDates = loadOccupiedDates(changedRange.getStart(), changedRange.getEnd());
+				synchronized (heldDates) {
+					heldDates.removeAll(extractDatesBetweenTwoDates(changedRange.getStart(), changedRange.getEnd()));
+					heldDates.addAll(occupiedDates);
+				}
+			}
+		}
+	}
+
+	// A request marked as forwarded without a valid signature is rejected, even by the owner
+	private boolean isHandledLocally(String owner) {
+		return partitionForwarder.isForwardedRequest() || partitionOwnership.isSelf(owner);
+	}
+
+	private void claim(DateRange range) {
+		long partition = partitionOwnership.partitionOf(range.getStart());
+		if (!loadedPartitions.contains(partition)) {
+			// Stays starting in the partition may run past its end by up to maxLength days
+			List<LocalDate> occupiedDates = loadOccupiedDates(partitionOwnership.partitionStart(partition),
+					partitionOwnership.partitionEnd(partition).plusDays(reservationConfig.getMaxLength()));
+			synchronized (heldDates) {
+				heldDates.addAll(occupiedDates);
+				loadedPartitions.add(partition);
+			}
+			log.debug("Partition {} loaded with {} occupied dates", partition, occupiedDates.size());
+		}
+
+		List<LocalDate> dates = extractDatesBetweenTwoDates(range.getStart(), range.getEnd());
+		BookingPhaseEvent.record(BookingPhaseEvent.CONFLICT_CHECK, () -> {
+			synchronized (heldDates) {
+				if (!Collections.disjoint(heldDates, dates)) {
+					throw new OccupiedPeriodException();
+				}
+				heldDates.addAll(dates);
+			}
+		});
+	}
+
+	private void unclaim(List<DateRange> ranges) {
+		synchronized (heldDates) {
+			for (DateRange range : ranges) {
+				heldDates.removeAll(extractDatesBetweenTwoDates(range.getStart(), range.getEnd()));
+			}
+		}
+	}
+
+	private TransactionTemplate newTransaction() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+		return transactionTemplate;
+	}
+}
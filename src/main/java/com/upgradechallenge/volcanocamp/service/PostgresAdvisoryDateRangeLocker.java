@@ -0,0 +1,31 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.List;
+
+import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Locks date buckets with transaction-scoped PostgreSQL advisory locks, shared by every instance of the application.
+ * A wait longer than the session lock_timeout surfaces as a PessimisticLockingFailureException.
+ */
+public class PostgresAdvisoryDateRangeLocker implements DateRangeLocker {
+
+	// First key of the two-key advisory locks, keeps the date buckets apart from any other advisory lock user
+	static final int LOCK_NAMESPACE = 0x564f4c43;
+
+	private final ReservationDateRepository reservationDateRepo;
+	private final int bucketDays;
+
+	public PostgresAdvisoryDateRangeLocker(ReservationDateRepository reservationDateRepo, int bucketDays) {
+		this.reservationDateRepo = reservationDateRepo;
+		this.bucketDays = bucketDays;
+	}
+
+	@Override
+	public void lock(List<DateRange> ranges) {
+		for (int bucket : DateRangeLocker.bucketsOf(ranges, bucketDays)) {
+			reservationDateRepo.acquireAdvisoryTransactionLock(LOCK_NAMESPACE, bucket);
+		}
+	}
+}
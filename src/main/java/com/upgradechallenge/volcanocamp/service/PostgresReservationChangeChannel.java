@@ -0,0 +1,139 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.upgradechallenge.volcanocamp.configuration.ChangeChannelConfiguration;
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.event.ReservationChangedEvent;
+import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Change channel shared by all instances through PostgreSQL LISTEN/NOTIFY. The notification is issued within the
+ * booking transaction, PostgreSQL delivers it to the listening instances only if that transaction commits. Every
+ * instance listens on a dedicated connection outside of the pool and republishes what it receives locally.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.changes", name = "channel", havingValue = "postgres")
+public class PostgresReservationChangeChannel {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(PostgresReservationChangeChannel.class);
+
+	static final String CHANNEL = "reservation_changes";
+
+	@Autowired
+	ReservationDateRepository reservationDateRepo;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	DataSourceProperties dataSourceProperties;
+
+	@Autowired
+	ChangeChannelConfiguration changeChannelConfig;
+
+	private volatile boolean running;
+	private Thread listenerThread;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void onReservationChanged(ReservationChangedEvent event) {
+		reservationDateRepo.notifyChannel(CHANNEL, encode(event));
+	}
+
+	@PostConstruct
+	public void startListening() {
+		running = true;
+		listenerThread = new Thread(this::listen, "reservation-changes-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+	}
+
+	@PreDestroy
+	public void stopListening() throws InterruptedException {
+		running = false;
+		listenerThread.interrupt();
+		listenerThread.join(changeChannelConfig.getPollTimeoutMs());
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+					dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + CHANNEL);
+				}
+				// Changes committed while no connection was listening are lost
+				eventPublisher.publishEvent(ReservationChangeNotification.resync());
+				log.info("Listening to reservation changes on channel {}", CHANNEL);
+
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				while (running) {
+					PGNotification[] notifications = pgConnection
+							.getNotifications((int) changeChannelConfig.getPollTimeoutMs());
+					if (notifications == null) {
+						continue;
+					}
+					for (PGNotification notification : notifications) {
+						eventPublisher.publishEvent(decode(notification.getParameter()));
+					}
+				}
+			} catch (SQLException | RuntimeException e) {
+				if (!running) {
+					return;
+				}
+				log.warn("Reservation changes channel lost, reconnecting in {} ms", changeChannelConfig.getReconnectDelayMs(), e);
+				try {
+					Thread.sleep(changeChannelConfig.getReconnectDelayMs());
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	// Payload format: <reservation id, empty for bulk imports>;<start>/<end>,<start>/<end>...
+	static String encode(ReservationChangedEvent event) {
+		String reservationId = event.getReservationId() == null ? "" : event.getReservationId().toString();
+		return reservationId + ";" + event.getChangedRanges().stream()
+				.map(range -> range.getStart() + "/" + range.getEnd()).collect(Collectors.joining(","));
+	}
+
+	static ReservationChangeNotification decode(String payload) {
+		int separator = payload.indexOf(';');
+		List<DateRange> changedRanges = new ArrayList<>();
+		if (separator < payload.length() - 1) {
+			for (String range : payload.substring(separator + 1).split(",")) {
+				int rangeSeparator = range.indexOf('/');
+				changedRanges.add(DateRange.of(LocalDate.parse(range.substring(0, rangeSeparator)),
+						LocalDate.parse(range.substring(rangeSeparator + 1))));
+			}
+		}
+		UUID reservationId = separator == 0 ? null : UUID.fromString(payload.substring(0, separator));
+		return ReservationChangeNotification.of(new ReservationChangedEvent(reservationId, changedRanges));
+	}
+}
@@ -0,0 +1,89 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.upgradechallenge.volcanocamp.configuration.ReplicaConfiguration;
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+
+/**
+ * Remembers Reservations written recently enough that the replica may still serve a stale version of them, so
+ * that reads of those Reservations can be sent to the primary instead.
+ */
+@Component
+public class ReplicaStalenessTracker {
+
+	private static final int PURGE_THRESHOLD = 10_000;
+
+	private final Map<UUID, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+	@Autowired
+	ReplicaConfiguration replicaConfig;
+
+	/**
+	 * Records a write of the given Reservation. Within a transaction the write is recorded once it commits, since
+	 * that is when replication starts.
+	 * 
+	 * @param reservationId (UUID) Id of the written Reservation
+	 */
+	public void recordWrite(UUID reservationId) {
+		if (!replicaConfig.isEnabled() || reservationId == null) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					markWritten(reservationId);
+				}
+			});
+		} else {
+			markWritten(reservationId);
+		}
+	}
+
+	/**
+	 * Records the writes committed by the other instances as well, as they go through the same replica.
+	 */
+	@EventListener
+	public void onReservationChange(ReservationChangeNotification notification) {
+		if (replicaConfig.isEnabled() && notification.getReservationId() != null) {
+			markWritten(notification.getReservationId());
+		}
+	}
+
+	/**
+	 * @param reservationId (UUID) Id of the Reservation about to be read
+	 * @return true if the Reservation was written within the configured staleness window
+	 */
+	public boolean isRecentlyWritten(UUID reservationId) {
+		if (!replicaConfig.isEnabled()) {
+			return false;
+		}
+
+		Long writeNanos = lastWriteNanos.get(reservationId);
+		return writeNanos != null && !isExpired(writeNanos, System.nanoTime());
+	}
+
+	private void markWritten(UUID reservationId) {
+		long now = System.nanoTime();
+		lastWriteNanos.put(reservationId, now);
+
+		if (lastWriteNanos.size() > PURGE_THRESHOLD) {
+			lastWriteNanos.values().removeIf(writeNanos -> isExpired(writeNanos, now));
+		}
+	}
+
+	private boolean isExpired(long writeNanos, long now) {
+		return now - writeNanos > TimeUnit.MILLISECONDS.toNanos(replicaConfig.getStalenessWindowMs());
+	}
+}
@@ -0,0 +1,58 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.repository.ArchivedReservationRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationRepository;
+
+@Service
+public class ReservationArchivalService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationArchivalService.class);
+
+	@Autowired
+	ReservationRepository reservationRepo;
+
+	@Autowired
+	ArchivedReservationRepository archivedReservationRepo;
+
+	/**
+	 * Moves one batch of cancelled or checked-out Reservations from the reservations table to the archive table.
+	 * Rows are removed with a version check, so a Reservation modified concurrently makes the batch roll back and
+	 * it is picked up again by the next run.
+	 * 
+	 * @param today (LocalDate) Reservations with a check-out before this date are considered checked-out
+	 * @param batchSize (int) Maximum number of Reservations to move
+	 * @return (int) Number of Reservations archived
+	 */
+	@Transactional
+	public int archiveBatch(LocalDate today, int batchSize) {
+		List<Reservation> reservationsToArchive = reservationRepo.findArchivableReservations(today,
+				PageRequest.of(0, batchSize));
+
+		if (reservationsToArchive.isEmpty()) {
+			return 0;
+		}
+
+		List<ArchivedReservation> archivedReservations = reservationsToArchive.stream()
+				.map(reservation -> ArchivedReservation.fromReservation(reservation, today))
+				.collect(Collectors.toList());
+
+		archivedReservationRepo.saveAll(archivedReservations);
+		reservationRepo.deleteAll(reservationsToArchive);
+
+		log.debug("Archived {} reservations", reservationsToArchive.size());
+
+		return reservationsToArchive.size();
+	}
+}
@@ -0,0 +1,88 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.model.OccupancyHistory;
+import com.upgradechallenge.volcanocamp.repository.OccupancyHistoryRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
+
+@Service
+public class ReservationDatePruningService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationDatePruningService.class);
+
+	@Autowired
+	ReservationDateRepository reservationDateRepo;
+
+	@Autowired
+	OccupancyHistoryRepository occupancyHistoryRepo;
+
+	/**
+	 * Deletes one batch of the oldest occupied dates before the cutoff from the reservationdate table. Dates before
+	 * the cutoff can no longer be booked, so a batch never races with a booking: it is removed with a single range
+	 * delete spanning its first and last date, or one per month when the history is recorded. The history counts the
+	 * rows each delete removed, so that dates pruned concurrently by another instance are counted once, and is
+	 * incremented in place. Two instances creating the same month clash on its primary key, and the losing batch is
+	 * rolled back as a whole, to be pruned again on the next run.
+	 * 
+	 * @param cutoffDate (LocalDate) Occupied dates strictly before this date are pruned
+	 * @param batchSize (int) Maximum number of dates to prune
+	 * @param recordHistory (boolean) Whether pruned dates are added to the monthly occupancy history
+	 * @return (int) Number of dates pruned
+	 */
+	@Transactional
+	public int pruneBatch(LocalDate cutoffDate, int batchSize, boolean recordHistory) {
+		List<LocalDate> datesToPrune = reservationDateRepo.findOccupiedDatesBefore(cutoffDate,
+				PageRequest.of(0, batchSize));
+
+		if (datesToPrune.isEmpty()) {
+			return 0;
+		}
+
+		int prunedDates;
+		if (recordHistory) {
+			prunedDates = pruneByMonth(datesToPrune);
+		} else {
+			prunedDates = reservationDateRepo.deleteReservationDatesInInterval(datesToPrune.get(0),
+					datesToPrune.get(datesToPrune.size() - 1).plusDays(1));
+		}
+
+		log.debug("Pruned {} past reservation dates", prunedDates);
+
+		return prunedDates;
+	}
+
+	private int pruneByMonth(List<LocalDate> datesToPrune) {
+		// Dates are sorted, the first and last date of each month bound its share of the batch
+		Map<String, List<LocalDate>> datesByMonth = datesToPrune.stream()
+				.collect(Collectors.groupingBy(OccupancyHistory::monthOf, TreeMap::new, Collectors.toList()));
+
+		int prunedDates = 0;
+		for (Map.Entry<String, List<LocalDate>> monthDates : datesByMonth.entrySet()) {
+			List<LocalDate> dates = monthDates.getValue();
+			int prunedNights = reservationDateRepo.deleteReservationDatesInInterval(dates.get(0),
+					dates.get(dates.size() - 1).plusDays(1));
+			if (prunedNights > 0) {
+				addOccupiedNights(monthDates.getKey(), prunedNights);
+			}
+			prunedDates += prunedNights;
+		}
+		return prunedDates;
+	}
+
+	private void addOccupiedNights(String month, long nights) {
+		if (occupancyHistoryRepo.addOccupiedNights(month, nights) == 0) {
+			occupancyHistoryRepo.insertOccupiedNights(month, nights);
+		}
+	}
+}
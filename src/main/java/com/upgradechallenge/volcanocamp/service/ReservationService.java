@@ -2,28 +2,64 @@ package com.upgradechallenge.volcanocamp.service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.upgradechallenge.volcanocamp.configuration.ReadRoutingContext;
+import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
+import com.upgradechallenge.volcanocamp.event.ReservationChangedEvent;
+import com.upgradechallenge.volcanocamp.event.ReservationDatesReleasedEvent;
+import com.upgradechallenge.volcanocamp.exception.ArchivedReservationException;
 import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.exception.BusinessException;
 import com.upgradechallenge.volcanocamp.exception.MethodNotAllowedException;
 import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
 import com.upgradechallenge.volcanocamp.exception.ResourceNotFoundException;
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
 import com.upgradechallenge.volcanocamp.model.Reservation;
 import com.upgradechallenge.volcanocamp.model.ReservationDate;
+import com.upgradechallenge.volcanocamp.monitoring.AvailabilityEvent;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
+import com.upgradechallenge.volcanocamp.monitoring.Tracing;
+import com.upgradechallenge.volcanocamp.repository.ArchivedReservationRepository;
+import com.upgradechallenge.volcanocamp.repository.AvailableDateRepository;
 import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
 import com.upgradechallenge.volcanocamp.repository.ReservationRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+import com.upgradechallenge.volcanocamp.utils.ReservationCursor;
+import com.upgradechallenge.volcanocamp.utils.SingleFlight;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
 
 @Service
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "locking", matchIfMissing = true)
 public class ReservationService {
 
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationService.class);
@@ -31,6 +67,18 @@ public class ReservationService {
 	private static final String VALIDATION_ERROR_DATE_QUERY_PARAMS = "The check-in date must be before the check-out date";
 	private static final String VALIDATION_ERROR_ID = "The reservation id must be valid";
 	private static final String VALIDATION_ERROR_ACTIVE_STATUS = "The reservation that has been cancelled cannot be updated";
+	private static final String VALIDATION_ERROR_ALREADY_CANCELLED = "The reservation has already been cancelled";
+	private static final String VALIDATION_ERROR_PAGE_LIMIT = "The page limit must be between 1 and 100";
+	private static final String VALIDATION_ERROR_NIGHTS = "The number of nights must be between %d and %d";
+	private static final String VALIDATION_ERROR_WINDOW_LIMIT = "The limit must be positive";
+
+	private static final int MAX_PAGE_LIMIT = 100;
+	private static final int IMPORT_JDBC_BATCH_SIZE = 100;
+	private static final LocalDate MIN_LOOKUP_DATE = LocalDate.of(1900, 1, 1);
+	private static final LocalDate MAX_LOOKUP_DATE = LocalDate.of(9999, 12, 31);
+
+	private final SingleFlight<DateRange, List<LocalDate>> occupancyLoads = new SingleFlight<>();
+	private final SingleFlight<DateRange, List<LocalDate>> availabilityLoads = new SingleFlight<>();
 
 	@Autowired
 	ReservationRepository reservationRepo;
@@ -38,6 +86,24 @@ public class ReservationService {
 	@Autowired
 	ReservationDateRepository reservationDateRepo;
 
+	@Autowired
+	ArchivedReservationRepository archivedReservationRepo;
+
+	@Autowired
+	AvailableDateRepository availableDateRepo;
+
+	@Autowired
+	ReplicaStalenessTracker replicaStalenessTracker;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	ReservationConfiguration reservationConfig;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
 	/**
 	 * Queries the database for all available reservation dates and returns a list of dates (LocalDate) available to reserve.
 	 * 
@@ -45,7 +111,6 @@ public class ReservationService {
 	 * @param endDate (LocalDate) Ending date of the availability period
 	 * @return (List<LocalDate>) List of available dates to reserve
 	 */
-	@Transactional(readOnly = true)
 	public List<LocalDate> getAllAvailableDates(LocalDate startDate, LocalDate endDate) {
 
 		if (startDate.isAfter(endDate)) {
@@ -53,26 +118,121 @@ public class ReservationService {
 		}
 
 		// Add offset to endDate to include it in availability list
-		List<LocalDate> potentialAvailableDates = extractDatesBetweenTwoDates(startDate, endDate.plusDays(1));
-		List<ReservationDate> activeReservationDatesInPeriod = reservationDateRepo
-				.findActiveReservationsInIntervalNonLocked(startDate, endDate);
+		List<LocalDate> availableDates = loadAvailableDatesCoalesced(startDate, endDate.plusDays(1));
 
-		if (activeReservationDatesInPeriod.size() == 0) {
-			log.debug("No overlapping dates found in period from {} to {}", startDate, endDate);
-			return potentialAvailableDates;
-		} else {
-			List<LocalDate> occupiedDates = activeReservationDatesInPeriod.stream().map(res -> res.getDate())
-					.collect(Collectors.toList());
-			log.debug("Occupied dates overlapping dates found in period from {} to {} : {}", startDate, endDate,
-					occupiedDates);
-			potentialAvailableDates.removeAll(occupiedDates);
+		log.debug("{} available dates found in period from {} to {}", availableDates.size(), startDate, endDate);
+
+		return availableDates;
+	}
+
+	/**
+	 * Queries the database for all available reservation dates and returns them as a bitmask, where bit i (least
+	 * significant bit first, byte i / 8) is set if the date startDate + i days is available. The mask is built
+	 * straight from the occupied dates, without materializing the list of available dates.
+	 * 
+	 * @param startDate (LocalDate) Beginning date of the availability period
+	 * @param endDate (LocalDate) Ending date of the availability period
+	 * @return (byte[]) Availability bitmask covering every date from startDate to endDate inclusively
+	 */
+	public byte[] getAvailabilityBitmask(LocalDate startDate, LocalDate endDate) {
+
+		if (startDate.isAfter(endDate)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
+		}
+
+		int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+		byte[] bitmask = new byte[(days + 7) / 8];
+
+		// Start with every date of the period available, then clear the occupied ones
+		Arrays.fill(bitmask, (byte) 0xFF);
+		if (days % 8 != 0) {
+			bitmask[bitmask.length - 1] = (byte) ((1 << (days % 8)) - 1);
+		}
+
+		for (LocalDate occupiedDate : loadOccupiedDatesCoalesced(startDate, endDate.plusDays(1))) {
+			int offset = (int) ChronoUnit.DAYS.between(startDate, occupiedDate);
+			bitmask[offset / 8] &= ~(1 << (offset % 8));
+		}
+
+		return bitmask;
+	}
+
+	/**
+	 * Finds every stay of the given number of nights that can currently be booked within a period. The occupied
+	 * dates of the period are loaded once and scanned with a sliding window, keeping track of the run of free
+	 * dates ending at each date.
+	 * 
+	 * @param startDate (LocalDate) Earliest check-in date
+	 * @param endDate (LocalDate) Latest night of a stay
+	 * @param nights (int) Number of nights of the stays
+	 * @param limit (int) Maximum number of stays to return
+	 * @return (List<DateRange>) Bookable stays, earliest check-in first
+	 */
+	public List<DateRange> getAvailableWindows(LocalDate startDate, LocalDate endDate, int nights, int limit) {
+
+		if (startDate.isAfter(endDate)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
+		}
+		if (nights < reservationConfig.getMinLength() || nights > reservationConfig.getMaxLength()) {
+			throw new BadRequestException(String.format(VALIDATION_ERROR_NIGHTS, reservationConfig.getMinLength(),
+					reservationConfig.getMaxLength()));
+		}
+		if (limit < 1) {
+			throw new BadRequestException(VALIDATION_ERROR_WINDOW_LIMIT);
+		}
+
+		int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+		boolean[] occupied = new boolean[days];
+		for (LocalDate occupiedDate : loadOccupiedDatesCoalesced(startDate, endDate.plusDays(1))) {
+			occupied[(int) ChronoUnit.DAYS.between(startDate, occupiedDate)] = true;
+		}
+
+		// A stay can only be booked up to maxStartOffsetDays ahead
+		LocalDate lastCheckinDate = LocalDate.now().plusDays(reservationConfig.getMaxStartOffsetDays());
+		List<DateRange> windows = new ArrayList<>();
+		int freeRun = 0;
+
+		for (int offset = 0; offset < days && windows.size() < limit; offset++) {
+			freeRun = occupied[offset] ? 0 : freeRun + 1;
+			if (freeRun >= nights) {
+				LocalDate checkinDate = startDate.plusDays(offset - nights + 1);
+				if (checkinDate.isAfter(lastCheckinDate)) {
+					break;
+				}
+				windows.add(DateRange.of(checkinDate, checkinDate.plusDays(nights)));
+			}
+		}
+
+		return windows;
+	}
+
+	/**
+	 * Computes the number of pitches still free on every date of a period. Unless the capacity booking mode is
+	 * used the camp site is a single pitch, so a date has either one or no pitch left.
+	 * 
+	 * @param startDate (LocalDate) Beginning date of the period
+	 * @param endDate (LocalDate) Ending date of the period
+	 * @return (SortedMap<LocalDate, Integer>) Free pitches of every date from startDate to endDate inclusively
+	 */
+	public SortedMap<LocalDate, Integer> getRemainingCapacity(LocalDate startDate, LocalDate endDate) {
+
+		if (startDate.isAfter(endDate)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
 		}
 
-		return potentialAvailableDates;
+		Set<LocalDate> occupiedDates = new HashSet<>(loadOccupiedDatesCoalesced(startDate, endDate.plusDays(1)));
+		SortedMap<LocalDate, Integer> remainingCapacity = new TreeMap<>();
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+			remainingCapacity.put(date, occupiedDates.contains(date) ? 0 : 1);
+		}
+
+		return remainingCapacity;
 	}
 
 	/**
-	 * Queries the database for a specific Reservation using the provided reservation id.
+	 * Queries the database for a specific Reservation using the provided reservation id. Reservations that have
+	 * already been moved to the archive are looked up there if not found among the current ones. A Reservation
+	 * written within the replica staleness window is read from the primary database.
 	 * 
 	 * @param reservationId (String) Reservation id in UUID format
 	 * @return (Reservation) Reservation with the matching id
@@ -83,13 +243,148 @@ public class ReservationService {
 		validateUUID(reservationId);
 		UUID resUUID = UUID.fromString(reservationId);
 
-		Optional<Reservation> resOptional = this.reservationRepo.findById(resUUID);
+		boolean readFromPrimary = replicaStalenessTracker.isRecentlyWritten(resUUID);
+		if (readFromPrimary) {
+			log.debug("Reservation {} written recently, reading it from the primary database", reservationId);
+			ReadRoutingContext.forcePrimary();
+		}
 
-		if (resOptional.isEmpty()) {
-			throw new ResourceNotFoundException(reservationId);
+		try {
+			Optional<Reservation> resOptional = this.reservationRepo.findById(resUUID);
+
+			if (resOptional.isEmpty()) {
+				log.debug("Reservation {} not found in current reservations, looking it up in the archive", reservationId);
+				resOptional = this.archivedReservationRepo.findById(resUUID).map(ArchivedReservation::toReservation);
+			}
+
+			if (resOptional.isEmpty()) {
+				throw new ResourceNotFoundException(reservationId);
+			}
+
+			return resOptional.get();
+		} finally {
+			if (readFromPrimary) {
+				ReadRoutingContext.clear();
+			}
+		}
+	}
+
+	/**
+	 * Queries the database for one page of Reservations of a user, archived ones included, ordered by check-in date.
+	 * Pages are addressed by a keyset cursor so that every page is an index range scan of both tables, however deep
+	 * it is, the two pages being merged.
+	 * 
+	 * @param userEmail (String) Email address the Reservations were made with
+	 * @param fromDate (LocalDate) Earliest check-in date to include, unbounded if null
+	 * @param toDate (LocalDate) Latest check-in date to include, unbounded if null
+	 * @param cursor (String) Cursor returned with the previous page, null for the first page
+	 * @param limit (int) Maximum number of Reservations in the page
+	 * @return (List<Reservation>) Page of Reservations
+	 */
+	@Transactional(readOnly = true)
+	public List<Reservation> getReservationsByUserEmail(String userEmail, LocalDate fromDate, LocalDate toDate,
+			String cursor, int limit) {
+
+		if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+			throw new BadRequestException(VALIDATION_ERROR_PAGE_LIMIT);
+		}
+
+		LocalDate lookupStart = lookupStart(fromDate);
+		LocalDate lookupEnd = lookupEnd(toDate);
+
+		if (lookupStart.isAfter(lookupEnd)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
+		}
+
+		List<Reservation> reservations = new ArrayList<>();
+		List<ArchivedReservation> archivedReservations;
+		if (cursor == null) {
+			reservations.addAll(reservationRepo.findFirstPageByUserEmail(userEmail, lookupStart, lookupEnd,
+					PageRequest.of(0, limit)));
+			archivedReservations = archivedReservationRepo.findFirstPageByUserEmail(userEmail, lookupStart,
+					lookupEnd, PageRequest.of(0, limit));
+		} else {
+			ReservationCursor after = ReservationCursor.decode(cursor);
+			reservations.addAll(reservationRepo.findNextPageByUserEmail(userEmail, after.getCheckinDate(), lookupEnd,
+					after.getId(), PageRequest.of(0, limit)));
+			archivedReservations = archivedReservationRepo.findNextPageByUserEmail(userEmail,
+					after.getCheckinDate(), lookupEnd, after.getId(), PageRequest.of(0, limit));
+		}
+		archivedReservations.forEach(archivedReservation -> reservations.add(archivedReservation.toReservation()));
+
+		reservations.sort(ReservationCursor.ORDER);
+		return reservations.size() > limit ? new ArrayList<>(reservations.subList(0, limit)) : reservations;
+	}
+
+	/**
+	 * Streams all Reservations of a user, archived ones included, ordered by check-in date, to the provided consumer.
+	 * Rows of both tables are fetched through database cursors, merged, and detached once consumed so memory stays
+	 * flat whatever the number of rows.
+	 * 
+	 * @param userEmail (String) Email address the Reservations were made with
+	 * @param fromDate (LocalDate) Earliest check-in date to include, unbounded if null
+	 * @param toDate (LocalDate) Latest check-in date to include, unbounded if null
+	 * @param consumer (Consumer<Reservation>) Consumer called for every Reservation
+	 */
+	@Transactional(readOnly = true)
+	public void streamReservationsByUserEmail(String userEmail, LocalDate fromDate, LocalDate toDate,
+			Consumer<Reservation> consumer) {
+
+		LocalDate lookupStart = lookupStart(fromDate);
+		LocalDate lookupEnd = lookupEnd(toDate);
+
+		if (lookupStart.isAfter(lookupEnd)) {
+			throw new BadRequestException(VALIDATION_ERROR_DATE_QUERY_PARAMS);
 		}
 
-		return resOptional.get();
+		try (Stream<Reservation> current = reservationRepo.streamByUserEmail(userEmail, lookupStart, lookupEnd);
+				Stream<ArchivedReservation> archived = archivedReservationRepo.streamByUserEmail(userEmail,
+						lookupStart, lookupEnd)) {
+			Iterator<Reservation> currentIterator = current.iterator();
+			Iterator<ArchivedReservation> archivedIterator = archived.iterator();
+			Reservation nextCurrent = currentIterator.hasNext() ? currentIterator.next() : null;
+			Reservation nextArchived = nextArchived(archivedIterator);
+
+			while (nextCurrent != null || nextArchived != null) {
+				if (nextArchived == null
+						|| (nextCurrent != null && ReservationCursor.ORDER.compare(nextCurrent, nextArchived) <= 0)) {
+					consumer.accept(nextCurrent);
+					entityManager.detach(nextCurrent);
+					nextCurrent = currentIterator.hasNext() ? currentIterator.next() : null;
+				} else {
+					consumer.accept(nextArchived);
+					nextArchived = nextArchived(archivedIterator);
+				}
+			}
+		}
+	}
+
+	private Reservation nextArchived(Iterator<ArchivedReservation> archivedIterator) {
+		if (!archivedIterator.hasNext()) {
+			return null;
+		}
+		ArchivedReservation archivedReservation = archivedIterator.next();
+		entityManager.detach(archivedReservation);
+		return archivedReservation.toReservation();
+	}
+
+	/**
+	 * Isolation level of the transaction of createNewReservation, for callers opening the transaction it joins.
+	 * 
+	 * @return (Isolation) Isolation level the creation of a Reservation relies on in this booking mode
+	 */
+	public Isolation getCreateIsolation() {
+		return Isolation.SERIALIZABLE;
+	}
+
+	/**
+	 * Whether createNewReservation joins the transaction of its caller, so that rolling that transaction back also
+	 * rolls the Reservation back.
+	 * 
+	 * @return (boolean) false if the Reservation is committed on its own, or by another cluster member
+	 */
+	public boolean isCreateJoiningTransaction() {
+		return true;
 	}
 
 	/**
@@ -101,8 +396,9 @@ public class ReservationService {
 	@Transactional(isolation = Isolation.SERIALIZABLE)
 	public Reservation createNewReservation(Reservation reservationToSave) {
 		// Check if the provided reservation overlaps with any existing reservations
-		List<ReservationDate> activeReservationDatesInPeriod = reservationDateRepo.findActiveReservationsInInterval(
-				reservationToSave.getCheckinDate(), reservationToSave.getCheckoutDate());
+		List<ReservationDate> activeReservationDatesInPeriod = BookingPhaseEvent.record(BookingPhaseEvent.LOCK_ACQUISITION,
+				() -> reservationDateRepo.findActiveReservationsInInterval(reservationToSave.getCheckinDate(),
+						reservationToSave.getCheckoutDate()));
 
 		// no overlaps, safe to save
 		if (activeReservationDatesInPeriod.isEmpty()) {
@@ -113,12 +409,17 @@ public class ReservationService {
 
 			log.debug("Saving new reservation dates, making them unavailable for others: {}", datesToReserve);
 			// persist dates of the new valid reservation
-			reservationDateRepo.saveAll(datesToReserve);
+			BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE, () -> reservationDateRepo.saveAll(datesToReserve));
 
 		} else {
 			throw new OccupiedPeriodException();
 		}
-		return reservationRepo.save(reservationToSave);
+
+		Reservation savedReservation = reservationRepo.save(reservationToSave);
+		recordReservationChange(savedReservation.getId(), Collections.singletonList(
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate())));
+
+		return savedReservation;
 	}
 
 	/**
@@ -130,12 +431,140 @@ public class ReservationService {
 	@Transactional(isolation = Isolation.SERIALIZABLE)
 	public Reservation updateReservation(String reservationId, Reservation reservationToUpdate) {
 
+		Reservation savedReservation = findActiveReservation(reservationId);
+
+		DateRange oldRange = DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate());
+		DateRange newRange = DateRange.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
+		List<DateRange> addedRanges = newRange.minus(oldRange);
+		List<DateRange> removedRanges = oldRange.minus(newRange);
+
+		// Only the nights the reservation does not hold yet need to be free, and only those get locked
+		for (DateRange addedRange : addedRanges) {
+			if (!BookingPhaseEvent.record(BookingPhaseEvent.LOCK_ACQUISITION, () -> reservationDateRepo
+					.findActiveReservationsInInterval(addedRange.getStart(), addedRange.getEnd())).isEmpty()) {
+				throw new OccupiedPeriodException();
+			}
+		}
+
+		log.debug("No overlapping dates found in period from {} to {}", newRange.getStart(), newRange.getEnd());
+		BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE, () -> rewriteReservationDates(removedRanges, addedRanges));
+
+		return applyReservationUpdate(savedReservation, reservationToUpdate);
+	}
+
+	/**
+	 * Cancels a given Reservation by updating it in the database with the active field set to false
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @return Reservation with active field set to false
+	 */
+	@Transactional
+	public Reservation cancelReservation(String reservationId) {
+
+		validateUUID(reservationId);
+		UUID resUUID = UUID.fromString(reservationId);
+
+		Optional<Reservation> resOptional = this.reservationRepo.findById(resUUID);
+
+		if (resOptional.isEmpty()) {
+			throw notFoundOrArchived(reservationId, resUUID);
+		}
+
+		Reservation savedReservation = resOptional.get();
+
+		// Its dates were released by the first cancellation, releasing them again would free dates of other stays.
+		// Concurrent cancellations both reading it active are told apart by the version check at commit
+		if (!savedReservation.isActive()) {
+			throw new MethodNotAllowedException(VALIDATION_ERROR_ALREADY_CANCELLED);
+		}
+
+		savedReservation.setActive(false);
+		savedReservation.setCancelledDate(LocalDate.now());
+
+		// Remove active dates
+		BookingPhaseEvent.record(BookingPhaseEvent.DATE_WRITE, () -> releaseReservationDates(savedReservation));
+		List<DateRange> releasedRanges = Collections.singletonList(
+				DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate()));
+		eventPublisher.publishEvent(new ReservationDatesReleasedEvent(releasedRanges));
+		recordReservationChange(resUUID, releasedRanges);
+
+		return reservationRepo.save(savedReservation);
+	}
+
+	/**
+	 * Saves a chunk of imported Reservations in one transaction, along with the dates of the active ones sent to the
+	 * database in JDBC batches. An active Reservation overlapping an occupied date, or a date taken by an earlier
+	 * Reservation of the chunk, is left out. A date booked concurrently still fails the whole chunk on the
+	 * reservationdate primary key.
+	 * 
+	 * @param reservations (List<Reservation>) Reservations to import, without id
+	 * @return (List<Reservation>) Reservations saved in the database
+	 */
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public List<Reservation> importReservations(List<Reservation> reservations) {
+
+		List<Reservation> activeReservations = reservations.stream().filter(Reservation::isActive)
+				.collect(Collectors.toList());
+		Set<LocalDate> occupiedDates = new HashSet<>();
+		DateRange importedRange = null;
+		if (!activeReservations.isEmpty()) {
+			importedRange = DateRange.of(
+					activeReservations.stream().map(Reservation::getCheckinDate).min(LocalDate::compareTo).get(),
+					activeReservations.stream().map(Reservation::getCheckoutDate).max(LocalDate::compareTo).get());
+			occupiedDates.addAll(reservationDateRepo.findOccupiedDatesInInterval(importedRange.getStart(),
+					importedRange.getEnd()));
+		}
+
+		List<Reservation> importedReservations = new ArrayList<>();
+		List<LocalDate> importedDates = new ArrayList<>();
+		for (Reservation reservation : reservations) {
+			if (reservation.isActive()) {
+				List<LocalDate> dates = extractDatesBetweenTwoDates(reservation.getCheckinDate(),
+						reservation.getCheckoutDate());
+				if (dates.stream().anyMatch(occupiedDates::contains)) {
+					log.debug("Skipping imported reservation overlapping occupied dates: {}", reservation);
+					continue;
+				}
+				occupiedDates.addAll(dates);
+				importedDates.addAll(dates);
+			}
+			importedReservations.add(reservation);
+		}
+
+		entityManager.unwrap(Session.class).setJdbcBatchSize(IMPORT_JDBC_BATCH_SIZE);
+		reservationRepo.saveAll(importedReservations);
+		reservationDateRepo.saveAllAndFlush(convertLocalDateListToReservationList(importedDates));
+
+		// One change covering the whole chunk rather than one per Reservation
+		if (!importedDates.isEmpty()) {
+			eventPublisher.publishEvent(new ReservationChangedEvent(null, Collections.singletonList(importedRange)));
+		}
+
+		// Under open-in-view every chunk of a request shares one persistence context, which would otherwise keep the
+		// whole import managed until the request ends
+		entityManager.clear();
+
+		return importedReservations;
+	}
+
+	/**
+	 * Loads an active reservation about to be modified.
+	 * 
+	 * @param reservationId (String) Reservation id in UUID format
+	 * @return Reservation currently stored in the database
+	 */
+	protected Reservation findActiveReservation(String reservationId) {
+		return BookingPhaseEvent.record(BookingPhaseEvent.VALIDATION, () -> loadActiveReservation(reservationId));
+	}
+
+	private Reservation loadActiveReservation(String reservationId) {
+
 		validateUUID(reservationId);
 		UUID resUUID = UUID.fromString(reservationId);
 		Optional<Reservation> resOptional = this.reservationRepo.findById(resUUID);
 
 		if (resOptional.isEmpty()) {
-			throw new ResourceNotFoundException(reservationId);
+			throw notFoundOrArchived(reservationId, resUUID);
 		}
 
 		Reservation savedReservation = resOptional.get();
@@ -145,74 +574,164 @@ public class ReservationService {
 			throw new MethodNotAllowedException(VALIDATION_ERROR_ACTIVE_STATUS);
 		}
 
-		// Check if the new dates of the reservation do not overlap, take into account
-		// existing dates if update will include old dates as well
-		List<ReservationDate> activeReservationDatesInPeriod = reservationDateRepo.findActiveReservationsInInterval(
-				reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
-		List<ReservationDate> oldReservationDates = convertLocalDateListToReservationList(
-				extractDatesBetweenTwoDates(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate()));
-		activeReservationDatesInPeriod.removeAll(oldReservationDates);
+		return savedReservation;
+	}
 
-		// no overlaps, safe to update
-		if (activeReservationDatesInPeriod.isEmpty()) {
-			log.debug("No overlapping dates found in period from {} to {}", reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
-			// Remove current reservation dates from ReservationDate table
-			reservationDateRepo.deleteAll(oldReservationDates);
-
-			log.debug("Removing old reservation dates, making them available for others: {}", oldReservationDates);
-			// Save new dates to ReservationDate table
-			List<ReservationDate> newReservationDates = convertLocalDateListToReservationList(
-					extractDatesBetweenTwoDates(reservationToUpdate.getCheckinDate(),
-							reservationToUpdate.getCheckoutDate()));
-			log.debug("Saving new reservation dates, making them unavailable for others: {}", newReservationDates);
-			
-			reservationDateRepo.saveAll(newReservationDates);
+	// Archived Reservations are still served by getReservationById, so writes to them are refused rather than not found
+	private BusinessException notFoundOrArchived(String reservationId, UUID resUUID) {
+		if (this.archivedReservationRepo.existsById(resUUID)) {
+			return new ArchivedReservationException(reservationId);
+		}
+		return new ResourceNotFoundException(reservationId);
+	}
 
-		} else {
-			throw new OccupiedPeriodException();
+	/**
+	 * Releases the dates a reservation no longer holds and reserves the ones it gained.
+	 * 
+	 * @param removedRanges (List<DateRange>) Ranges of dates to release
+	 * @param addedRanges (List<DateRange>) Ranges of dates to reserve
+	 */
+	protected void rewriteReservationDates(List<DateRange> removedRanges, List<DateRange> addedRanges) {
+
+		for (DateRange removedRange : removedRanges) {
+			log.debug("Removing old reservation dates, making them available for others: {}", removedRange);
+			reservationDateRepo.deleteReservationDatesInInterval(removedRange.getStart(), removedRange.getEnd());
+		}
+
+		List<ReservationDate> newReservationDates = toReservationDates(addedRanges);
+		log.debug("Saving new reservation dates, making them unavailable for others: {}", newReservationDates);
+		reservationDateRepo.saveAll(newReservationDates);
+	}
+
+	protected List<ReservationDate> toReservationDates(List<DateRange> ranges) {
+		return ranges.stream()
+				.flatMap(range -> extractDatesBetweenTwoDates(range.getStart(), range.getEnd()).stream())
+				.map(localDate -> ReservationDate.builder().date(localDate).build()).collect(Collectors.toList());
+	}
+
+	/**
+	 * Releases all the dates held by a reservation.
+	 * 
+	 * @param reservation (Reservation) Reservation being cancelled
+	 */
+	protected void releaseReservationDates(Reservation reservation) {
+		int removedDates = reservationDateRepo.deleteReservationDatesInInterval(reservation.getCheckinDate(),
+				reservation.getCheckoutDate());
+
+		log.debug("Removed {} old reservation dates, making them available for others", removedDates);
+	}
+
+	/**
+	 * Copies the updatable fields onto the stored reservation once its dates have been rewritten, and persists it.
+	 * Dates given back by the update are announced to the ReservationDatesReleasedEvent listeners.
+	 * 
+	 * @param savedReservation (Reservation) Reservation currently stored in the database
+	 * @param reservationToUpdate (Reservation) Reservation holding the new values
+	 * @return Reservation updated in the database
+	 */
+	protected Reservation applyReservationUpdate(Reservation savedReservation, Reservation reservationToUpdate) {
+
+		DateRange oldRange = DateRange.of(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate());
+		DateRange newRange = DateRange.of(reservationToUpdate.getCheckinDate(), reservationToUpdate.getCheckoutDate());
+		List<DateRange> releasedRanges = oldRange.minus(newRange);
+		if (!releasedRanges.isEmpty()) {
+			eventPublisher.publishEvent(new ReservationDatesReleasedEvent(releasedRanges));
 		}
+		List<DateRange> changedRanges = new ArrayList<>(releasedRanges);
+		changedRanges.addAll(newRange.minus(oldRange));
 
 		savedReservation.setCheckinDate(reservationToUpdate.getCheckinDate());
 		savedReservation.setCheckoutDate(reservationToUpdate.getCheckoutDate());
 		savedReservation.setUserFullName(reservationToUpdate.getUserFullName());
 		savedReservation.setUserEmail(reservationToUpdate.getUserEmail());
+		recordReservationChange(savedReservation.getId(), changedRanges);
 
 		return reservationRepo.save(savedReservation);
 	}
 
 	/**
-	 * Cancels a given Reservation by updating it in the database with the active field set to false
+	 * Records a write of a Reservation: reads of it bypass the replica for a while, and the dates whose occupancy
+	 * changed are announced to the change channel, which relays them to every instance once the transaction commits.
 	 * 
-	 * @param reservationId (String) Reservation id in UUID format
-	 * @return Reservation with active field set to false
+	 * @param reservationId (UUID) Id of the written Reservation
+	 * @param changedRanges (List<DateRange>) Dates taken or given back by the write
 	 */
-	@Transactional
-	public Reservation cancelReservation(String reservationId) {
+	protected void recordReservationChange(UUID reservationId, List<DateRange> changedRanges) {
+		replicaStalenessTracker.recordWrite(reservationId);
+		eventPublisher.publishEvent(new ReservationChangedEvent(reservationId, changedRanges));
+	}
 
-		validateUUID(reservationId);
-		UUID resUUID = UUID.fromString(reservationId);
+	// Identical availability reads arriving together share one query, run in its own read-only transaction
+	private List<LocalDate> loadOccupiedDatesCoalesced(LocalDate startDate, LocalDate endDate) {
+		return loadDatesCoalesced(occupancyLoads, AvailabilityEvent.OCCUPIED_DATES, startDate, endDate,
+				this::loadOccupiedDates);
+	}
 
-		Optional<Reservation> resOptional = this.reservationRepo.findById(resUUID);
+	private List<LocalDate> loadAvailableDatesCoalesced(LocalDate startDate, LocalDate endDate) {
+		return loadDatesCoalesced(availabilityLoads, AvailabilityEvent.AVAILABLE_DATES, startDate, endDate,
+				this::loadAvailableDates);
+	}
 
-		if (resOptional.isEmpty()) {
-			throw new ResourceNotFoundException(reservationId);
+	private List<LocalDate> loadDatesCoalesced(SingleFlight<DateRange, List<LocalDate>> loads, String query,
+			LocalDate startDate, LocalDate endDate, BiFunction<LocalDate, LocalDate, List<LocalDate>> loader) {
+		AvailabilityEvent availabilityEvent = new AvailabilityEvent();
+		Span span = Tracing.tracer().spanBuilder("availability load").setAttribute(Tracing.CHECKIN_DATE, startDate.toString())
+				.setAttribute(Tracing.CHECKOUT_DATE, endDate.toString()).startSpan();
+		availabilityEvent.begin();
+
+		List<LocalDate> dates;
+		try (Scope scope = span.makeCurrent()) {
+			dates = loads.execute(DateRange.of(startDate, endDate),
+					() -> Collections.unmodifiableList(loader.apply(startDate, endDate)));
+		} finally {
+			span.end();
 		}
 
-		Reservation savedReservation = resOptional.get();
-		savedReservation.setActive(false);
-		savedReservation.setCancelledDate(LocalDate.now());
+		if (availabilityEvent.shouldCommit()) {
+			availabilityEvent.query = query;
+			availabilityEvent.startDate = startDate.toString();
+			availabilityEvent.endDate = endDate.toString();
+			availabilityEvent.dates = dates.size();
+			availabilityEvent.commit();
+		}
+		return dates;
+	}
 
-		// Remove active dates
-		List<ReservationDate> reservationDatesToRemove = convertLocalDateListToReservationList(
-				extractDatesBetweenTwoDates(savedReservation.getCheckinDate(), savedReservation.getCheckoutDate()));
-		reservationDateRepo.deleteAll(reservationDatesToRemove);
-		
-		log.debug("Removing old reservation dates, making them available for others: {}", reservationDatesToRemove);
+	protected List<LocalDate> loadOccupiedDates(LocalDate startDate, LocalDate endDate) {
+		return reservationDateRepo.findActiveReservationsInIntervalNonLocked(startDate, endDate).stream()
+				.map(ReservationDate::getDate).collect(Collectors.toList());
+	}
 
-		return reservationRepo.save(savedReservation);
+	/**
+	 * Loads the dates of [startDate, endDate) that can be booked, computed by the database from the reservationdate
+	 * table.
+	 * 
+	 * @param startDate (LocalDate) First date of the period
+	 * @param endDate (LocalDate) Date following the last date of the period
+	 * @return (List<LocalDate>) Available dates in ascending order
+	 */
+	protected List<LocalDate> loadAvailableDates(LocalDate startDate, LocalDate endDate) {
+		return availableDateRepo.findFreeDatesInInterval(startDate, endDate);
+	}
+
+	// Dates of [startDate, endDate) other than the occupied ones, looked up in a set rather than searched in a list
+	protected List<LocalDate> excludeOccupiedDates(LocalDate startDate, LocalDate endDate,
+			List<LocalDate> occupiedDates) {
+		Set<LocalDate> occupied = new HashSet<>(occupiedDates);
+		return extractDatesBetweenTwoDates(startDate, endDate).stream().filter(date -> !occupied.contains(date))
+				.collect(Collectors.toList());
+	}
+
+	private LocalDate lookupStart(LocalDate fromDate) {
+		return fromDate == null ? MIN_LOOKUP_DATE : fromDate;
+	}
+
+	// Lookup end bound is exclusive while the provided toDate is inclusive
+	private LocalDate lookupEnd(LocalDate toDate) {
+		return toDate == null ? MAX_LOOKUP_DATE : toDate.plusDays(1);
 	}
 
-	private List<LocalDate> extractDatesBetweenTwoDates(LocalDate startDate, LocalDate endDate) {
+	protected List<LocalDate> extractDatesBetweenTwoDates(LocalDate startDate, LocalDate endDate) {
 		return Stream.iterate(startDate, date -> date.plusDays(1)).limit(ChronoUnit.DAYS.between(startDate, endDate))
 				.collect(Collectors.toList());
 	}
@@ -225,7 +744,7 @@ public class ReservationService {
 		}
 	}
 
-	private List<ReservationDate> convertLocalDateListToReservationList(List<LocalDate> localDates) {
+	protected List<ReservationDate> convertLocalDateListToReservationList(List<LocalDate> localDates) {
 		return localDates.stream().map(localDate -> ReservationDate.builder().date(localDate).build())
 				.collect(Collectors.toList());
 	}
@@ -0,0 +1,182 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.upgradechallenge.volcanocamp.configuration.TransferConfiguration;
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.repository.ArchivedReservationRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationRepository;
+
+import lombok.Value;
+
+@Service
+public class ReservationTransferService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(ReservationTransferService.class);
+
+	private static final String VALIDATION_ERROR_DATES = "The check-in date must be before the check-out date";
+	private static final String VALIDATION_ERROR_NAME = "Name must not be empty";
+	private static final String VALIDATION_ERROR_EMAIL = "Email must not be empty";
+	private static final String ERROR_RECORD = "Record %d: %s";
+	private static final String ERROR_CHUNK_CONFLICT = "Records %d to %d: dates booked during the import, none of them imported";
+
+	// Errors reported back are capped so that the summary stays small whatever the number of invalid records
+	private static final int MAX_REPORTED_ERRORS = 100;
+
+	@Autowired
+	ReservationRepository reservationRepo;
+
+	@Autowired
+	ArchivedReservationRepository archivedReservationRepo;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	TransferConfiguration transferConfig;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	/**
+	 * Streams every Reservation to the provided consumer, the current ones then the archived ones, each ordered by id.
+	 * Rows are fetched through forward-only database cursors and detached once consumed so memory stays flat whatever
+	 * the number of rows. Both tables are read from the same snapshot, so a Reservation archived during the export is
+	 * exported once.
+	 * 
+	 * @param consumer (Consumer<Reservation>) Consumer called for every Reservation, flagged as archived if it is
+	 */
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public void exportReservations(Consumer<Reservation> consumer) {
+		try (Stream<Reservation> reservations = reservationRepo.streamAll()) {
+			reservations.forEach(reservation -> {
+				consumer.accept(reservation);
+				entityManager.detach(reservation);
+			});
+		}
+		try (Stream<ArchivedReservation> archivedReservations = archivedReservationRepo.streamAll()) {
+			archivedReservations.forEach(archivedReservation -> {
+				entityManager.detach(archivedReservation);
+				consumer.accept(archivedReservation.toReservation());
+			});
+		}
+	}
+
+	/**
+	 * Imports Reservations read one record at a time, in chunks of reservation.transfer.chunkSize records each saved
+	 * in its own transaction, so that only one chunk is held in memory whatever the number of records. Invalid
+	 * records and Reservations overlapping occupied dates are left out and counted in the summary.
+	 * 
+	 * @param records (Stream<String>) Records to import, blank ones are skipped
+	 * @param parser (Function<String, Reservation>) Parser of a record, throwing a BadRequestException if malformed
+	 * @return (ImportSummary) Numbers of imported, conflicting and invalid records
+	 */
+	public ImportSummary importReservations(Stream<String> records, Function<String, Reservation> parser) {
+		ImportProgress progress = new ImportProgress();
+		List<Reservation> chunk = new ArrayList<>(transferConfig.getChunkSize());
+		long chunkFirstRecord = 1;
+		long recordNumber = 0;
+
+		Iterator<String> recordIterator = records.iterator();
+		while (recordIterator.hasNext()) {
+			String record = recordIterator.next();
+			recordNumber++;
+			if (record.isBlank()) {
+				continue;
+			}
+
+			try {
+				chunk.add(validate(parser.apply(record)));
+			} catch (BadRequestException e) {
+				progress.invalid++;
+				progress.reportError(String.format(ERROR_RECORD, recordNumber, e.getMessage()));
+			}
+
+			if (chunk.size() == transferConfig.getChunkSize()) {
+				importChunk(chunk, chunkFirstRecord, recordNumber, progress);
+				chunk.clear();
+				chunkFirstRecord = recordNumber + 1;
+			}
+		}
+		if (!chunk.isEmpty()) {
+			importChunk(chunk, chunkFirstRecord, recordNumber, progress);
+		}
+
+		log.info("Reservation import completed, {} imported, {} conflicting and {} invalid records", progress.imported,
+				progress.conflicting, progress.invalid);
+
+		return new ImportSummary(progress.imported, progress.conflicting, progress.invalid, progress.errors);
+	}
+
+	private void importChunk(List<Reservation> chunk, long firstRecord, long lastRecord, ImportProgress progress) {
+		try {
+			int imported = reservationService.importReservations(chunk).size();
+			progress.imported += imported;
+			progress.conflicting += chunk.size() - imported;
+		} catch (DataIntegrityViolationException e) {
+			log.debug("Imported chunk rejected by a concurrently booked date", e);
+			progress.conflicting += chunk.size();
+			progress.reportError(String.format(ERROR_CHUNK_CONFLICT, firstRecord, lastRecord));
+		}
+	}
+
+	private Reservation validate(Reservation reservation) {
+		if (reservation.getUserFullName() == null || reservation.getUserFullName().isBlank()) {
+			throw new BadRequestException(VALIDATION_ERROR_NAME);
+		}
+		if (reservation.getUserEmail() == null || reservation.getUserEmail().isBlank()) {
+			throw new BadRequestException(VALIDATION_ERROR_EMAIL);
+		}
+		LocalDate checkinDate = reservation.getCheckinDate();
+		if (checkinDate == null || reservation.getCheckoutDate() == null
+				|| !checkinDate.isBefore(reservation.getCheckoutDate())) {
+			throw new BadRequestException(VALIDATION_ERROR_DATES);
+		}
+		// Imported Reservations are always new ones
+		reservation.setId(null);
+		reservation.setVersion(null);
+		return reservation;
+	}
+
+	private static class ImportProgress {
+
+		private long imported;
+		private long conflicting;
+		private long invalid;
+		private final List<String> errors = new ArrayList<>();
+
+		private void reportError(String error) {
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add(error);
+			}
+		}
+	}
+
+	@Value
+	public static class ImportSummary {
+
+		long imported;
+		long conflicting;
+		long invalid;
+		List<String> errors;
+
+	}
+}
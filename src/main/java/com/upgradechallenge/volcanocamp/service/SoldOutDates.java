@@ -0,0 +1,67 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.CapacityConfiguration;
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * Short-lived local view of the dates last seen sold out, letting bookings that are bound to fail be turned down
+ * without an UPDATE round trip. The map is striped internally, so recording and checking dates does not contend
+ * across dates. A hint only ever rejects early: it expires after its time to live and is dropped as soon as any
+ * instance commits a change on the date, while the conditional UPDATE in the database stays the authority.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "mode", havingValue = "capacity")
+public class SoldOutDates {
+
+	private final ConcurrentHashMap<LocalDate, Long> expiryByDate = new ConcurrentHashMap<>();
+	private final long ttlNanos;
+
+	public SoldOutDates(CapacityConfiguration capacityConfig) {
+		this.ttlNanos = capacityConfig.getSoldOutHintTtlMs() * 1_000_000L;
+	}
+
+	public void record(Collection<LocalDate> soldOutDates) {
+		long expiry = System.nanoTime() + ttlNanos;
+		for (LocalDate soldOutDate : soldOutDates) {
+			expiryByDate.put(soldOutDate, expiry);
+		}
+	}
+
+	public void forget(DateRange range) {
+		for (LocalDate date = range.getStart(); date.isBefore(range.getEnd()); date = date.plusDays(1)) {
+			expiryByDate.remove(date);
+		}
+	}
+
+	@EventListener
+	public void onReservationChange(ReservationChangeNotification notification) {
+		if (notification.isResync()) {
+			expiryByDate.clear();
+			return;
+		}
+		notification.getChangedRanges().forEach(this::forget);
+	}
+
+	public boolean anySoldOut(DateRange range) {
+		long now = System.nanoTime();
+		for (LocalDate date = range.getStart(); date.isBefore(range.getEnd()); date = date.plusDays(1)) {
+			Long expiry = expiryByDate.get(date);
+			if (expiry != null) {
+				if (expiry - now > 0) {
+					return true;
+				}
+				expiryByDate.remove(date, expiry);
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,70 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+/**
+ * In-JVM fallback for databases without advisory locks (H2 in the dev profile): date buckets are hashed onto a fixed
+ * set of lock stripes, held until the current transaction completes. Only bookings served by the same instance are
+ * serialized, so this is meant for single-instance runs.
+ */
+public class StripedDateRangeLocker implements DateRangeLocker {
+
+	private static final String LOCK_TIMEOUT_ERROR = "Timed out waiting for the lock on the requested dates";
+
+	private final ReentrantLock[] stripes;
+	private final int bucketDays;
+	private final long lockTimeoutMs;
+
+	public StripedDateRangeLocker(int stripeCount, int bucketDays, long lockTimeoutMs) {
+		this.stripes = new ReentrantLock[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+		this.bucketDays = bucketDays;
+		this.lockTimeoutMs = lockTimeoutMs;
+	}
+
+	@Override
+	public void lock(List<DateRange> ranges) {
+		// Several buckets may share a stripe, each stripe is taken once and in ascending order
+		SortedSet<Integer> stripeIndexes = new TreeSet<>();
+		for (int bucket : DateRangeLocker.bucketsOf(ranges, bucketDays)) {
+			stripeIndexes.add(Math.floorMod(bucket, stripes.length));
+		}
+
+		Deque<ReentrantLock> acquiredLocks = new ArrayDeque<>();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				while (!acquiredLocks.isEmpty()) {
+					acquiredLocks.pop().unlock();
+				}
+			}
+		});
+
+		for (int stripeIndex : stripeIndexes) {
+			ReentrantLock stripe = stripes[stripeIndex];
+			try {
+				if (!stripe.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+					throw new PessimisticLockingFailureException(LOCK_TIMEOUT_ERROR);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new PessimisticLockingFailureException(LOCK_TIMEOUT_ERROR, e);
+			}
+			acquiredLocks.push(stripe);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.upgradechallenge.volcanocamp.configuration.WaitingRoomConfiguration;
+
+import lombok.Value;
+
+/**
+ * Virtual waiting room in front of the booking endpoints. Every arrival draws the next ticket of the queue and
+ * tickets are admitted in order at a fixed rate, up to one second worth of admissions being let through at once
+ * after a quiet period so that the room is transparent outside of rushes. An admitted ticket lets one booking
+ * request through, and lapses if not used before admissionTtlMs worth of later tickets have been admitted.
+ * Tickets are held in memory by each instance: behind a load balancer, clients must stick to the instance that
+ * handed out their token.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.queue", name = "enabled", havingValue = "true")
+public class WaitingRoom {
+
+	private static final int PURGE_THRESHOLD = 10_000;
+
+	private final Map<UUID, Long> ticketByToken = new HashMap<>();
+	private final LongSupplier nanoClock;
+	private final int admissionsPerSecond;
+	private final long admissionLapse;
+
+	// Guarded by this
+	private long lastTicket;
+	private long lastAdmittedTicket;
+	private double admissionCredits;
+	private long lastAdmissionNanos;
+
+	@Autowired
+	public WaitingRoom(WaitingRoomConfiguration waitingRoomConfig) {
+		this(waitingRoomConfig, System::nanoTime);
+	}
+
+	WaitingRoom(WaitingRoomConfiguration waitingRoomConfig, LongSupplier nanoClock) {
+		this.nanoClock = nanoClock;
+		this.admissionsPerSecond = waitingRoomConfig.getAdmissionsPerSecond();
+		this.admissionLapse = Math.max(1, admissionsPerSecond * waitingRoomConfig.getAdmissionTtlMs() / 1000);
+		this.admissionCredits = admissionsPerSecond;
+		this.lastAdmissionNanos = nanoClock.getAsLong();
+	}
+
+	/**
+	 * Lets a booking request in if it holds an admitted ticket, which is then used up. Otherwise the request keeps
+	 * its ticket in the queue, or draws a new one when it holds none (or an unknown or lapsed one). The new ticket
+	 * is used right away if it is admitted immediately.
+	 * 
+	 * @param token (UUID) Queue token presented by the request, null if none
+	 * @return (QueuePosition) Position of the request in the queue, admitted if the request can go through
+	 */
+	public synchronized QueuePosition enter(UUID token) {
+		admit();
+
+		Long ticket = token != null ? ticketByToken.get(token) : null;
+		if (ticket == null || isLapsed(ticket)) {
+			if (ticket != null) {
+				ticketByToken.remove(token);
+			}
+			token = UUID.randomUUID();
+			ticket = ++lastTicket;
+			admit();
+			if (ticket > lastAdmittedTicket) {
+				ticketByToken.put(token, ticket);
+				purgeLapsedTickets();
+			}
+		} else if (ticket <= lastAdmittedTicket) {
+			ticketByToken.remove(token);
+		}
+		return positionOf(token, ticket);
+	}
+
+	/**
+	 * @param token (UUID) Queue token to look up
+	 * @return (QueuePosition) Current position of the token in the queue, null if it is unknown or has lapsed
+	 */
+	public synchronized QueuePosition poll(UUID token) {
+		admit();
+
+		Long ticket = ticketByToken.get(token);
+		if (ticket == null || isLapsed(ticket)) {
+			return null;
+		}
+		return positionOf(token, ticket);
+	}
+
+	private QueuePosition positionOf(UUID token, long ticket) {
+		long position = Math.max(0, ticket - lastAdmittedTicket);
+		long waitSeconds = (position + admissionsPerSecond - 1) / admissionsPerSecond;
+		return new QueuePosition(token, position, position == 0, waitSeconds);
+	}
+
+	private void admit() {
+		long now = nanoClock.getAsLong();
+		double elapsedSeconds = (now - lastAdmissionNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+		lastAdmissionNanos = now;
+		// Unused admissions pile up to a one second burst at most
+		admissionCredits = Math.min(admissionsPerSecond, admissionCredits + elapsedSeconds * admissionsPerSecond);
+
+		long admitted = Math.min((long) admissionCredits, lastTicket - lastAdmittedTicket);
+		lastAdmittedTicket += admitted;
+		admissionCredits -= admitted;
+	}
+
+	private boolean isLapsed(long ticket) {
+		return lastAdmittedTicket - ticket >= admissionLapse;
+	}
+
+	private void purgeLapsedTickets() {
+		if (ticketByToken.size() > PURGE_THRESHOLD) {
+			ticketByToken.values().removeIf(this::isLapsed);
+		}
+	}
+
+	/**
+	 * Position of a queue token, counting its own ticket (0 once admitted), and the expected wait.
+	 */
+	@Value
+	public static class QueuePosition {
+
+		UUID token;
+		long position;
+		boolean admitted;
+		long waitSeconds;
+
+	}
+}
@@ -0,0 +1,34 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.upgradechallenge.volcanocamp.event.ReservationDatesReleasedEvent;
+
+@Component
+public class WaitlistPromotionListener {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(WaitlistPromotionListener.class);
+
+	@Autowired
+	WaitlistService waitlistService;
+
+	/**
+	 * Matches released dates against the waitlist once the releasing transaction has committed, off the request
+	 * thread so that the cancellation or update response is not delayed.
+	 */
+	@Async
+	@TransactionalEventListener
+	public void onDatesReleased(ReservationDatesReleasedEvent event) {
+		// Nothing reports the failures of an @Async listener, they would be lost without this log
+		try {
+			int promotedEntries = waitlistService.promoteWaitingEntries(event.getReleasedRanges());
+			log.debug("{} waitlist entries promoted for released dates {}", promotedEntries, event.getReleasedRanges());
+		} catch (RuntimeException e) {
+			log.error("Waitlist promotion failed for released dates {}", event.getReleasedRanges(), e);
+		}
+	}
+}
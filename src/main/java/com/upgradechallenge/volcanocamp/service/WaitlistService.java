@@ -0,0 +1,196 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
+import com.upgradechallenge.volcanocamp.exception.AvailablePeriodException;
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.exception.ResourceNotFoundException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.model.WaitlistEntry;
+import com.upgradechallenge.volcanocamp.model.WaitlistStatus;
+import com.upgradechallenge.volcanocamp.repository.WaitlistEntryRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+@Service
+public class WaitlistService {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(WaitlistService.class);
+
+	private static final String WAITLIST_ENTRY = "Waitlist entry";
+	private static final String VALIDATION_ERROR_ID = "The waitlist entry id must be valid";
+
+	@Autowired
+	WaitlistEntryRepository waitlistRepo;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	ReservationConfiguration reservationConfig;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	/**
+	 * Registers a stay to book as soon as its dates are released. A stay whose dates are all available is rejected, as
+	 * it is only offered again when some of its dates are released and could otherwise wait forever.
+	 * 
+	 * @param entryToSave (WaitlistEntry) Requested stay
+	 * @return WaitlistEntry saved in the database
+	 */
+	@Transactional
+	public WaitlistEntry registerEntry(WaitlistEntry entryToSave) {
+		long nights = ChronoUnit.DAYS.between(entryToSave.getCheckinDate(), entryToSave.getCheckoutDate());
+		List<LocalDate> availableDates = reservationService.getAllAvailableDates(entryToSave.getCheckinDate(),
+				entryToSave.getCheckoutDate().minusDays(1));
+		if (availableDates.size() == nights) {
+			throw new AvailablePeriodException();
+		}
+
+		entryToSave.setStatus(WaitlistStatus.WAITING);
+		entryToSave.setCreatedAt(Instant.now());
+
+		return waitlistRepo.save(entryToSave);
+	}
+
+	/**
+	 * Queries the database for a waitlist entry with the provided id.
+	 * 
+	 * @param entryId (String) Waitlist entry id in UUID format
+	 * @return WaitlistEntry with the matching id
+	 */
+	@Transactional(readOnly = true)
+	public WaitlistEntry getEntryById(String entryId) {
+		return waitlistRepo.findById(parseId(entryId))
+				.orElseThrow(() -> new ResourceNotFoundException(WAITLIST_ENTRY, entryId));
+	}
+
+	/**
+	 * Removes a waitlist entry, a Reservation it was already promoted to is kept.
+	 * 
+	 * @param entryId (String) Waitlist entry id in UUID format
+	 */
+	@Transactional
+	public void withdrawEntry(String entryId) {
+		waitlistRepo.delete(getEntryById(entryId));
+	}
+
+	/**
+	 * Offers released dates to the waiting entries overlapping them, oldest entries first. Each promotion claims its
+	 * entry and books it through the ReservationService in one transaction, so an entry whose other dates are still
+	 * taken is rolled back to waiting and the next entry is tried, and an entry claimed by a concurrent promotion is
+	 * never booked twice. A booking mode committing the Reservation on its own has it cancelled when the claim is
+	 * rolled back.
+	 * 
+	 * @param releasedRanges (List<DateRange>) Ranges of dates just released
+	 * @return (int) Number of entries promoted to a Reservation
+	 */
+	public int promoteWaitingEntries(List<DateRange> releasedRanges) {
+		LocalDate firstBookableDate = LocalDate.now().plusDays(reservationConfig.getMinStartOffsetDays());
+		int promotedEntries = 0;
+
+		for (DateRange releasedRange : releasedRanges) {
+			LocalDate minCheckinDate = releasedRange.getStart().minusDays(reservationConfig.getMaxLength());
+			if (minCheckinDate.isBefore(firstBookableDate)) {
+				minCheckinDate = firstBookableDate;
+			}
+
+			for (WaitlistEntry entry : waitlistRepo.findWaitingEntriesOverlapping(minCheckinDate,
+					releasedRange.getStart(), releasedRange.getEnd())) {
+				if (tryPromote(entry)) {
+					promotedEntries++;
+				}
+			}
+		}
+
+		return promotedEntries;
+	}
+
+	/**
+	 * Expires the waiting entries whose check-in date is before the first bookable date, they can no longer be
+	 * promoted.
+	 * 
+	 * @return (int) Number of entries expired
+	 */
+	public int expirePastEntries() {
+		LocalDate firstBookableDate = LocalDate.now().plusDays(reservationConfig.getMinStartOffsetDays());
+		int expiredEntries = waitlistRepo.expireWaitingEntriesBefore(firstBookableDate);
+
+		log.debug("{} waitlist entries checking in before {} expired", expiredEntries, firstBookableDate);
+
+		return expiredEntries;
+	}
+
+	private boolean tryPromote(WaitlistEntry entry) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		// The booking joins this transaction, which must run at the isolation the booking mode relies on
+		transactionTemplate.setIsolationLevel(reservationService.getCreateIsolation().value());
+		AtomicReference<Reservation> booking = new AtomicReference<>();
+		try {
+			return Boolean.TRUE.equals(transactionTemplate.execute(status -> promote(entry, booking)));
+		} catch (OccupiedPeriodException | DataIntegrityViolationException e) {
+			log.debug("Waitlist entry {} still overlaps taken dates", entry.getId());
+			cancelDetachedBooking(entry, booking.get());
+		} catch (RuntimeException e) {
+			// Left waiting, it is offered again on the next release of its dates
+			log.warn("Waitlist entry {} could not be promoted: {}", entry.getId(), e.getMessage());
+			log.debug("Exception details: {}", e);
+			cancelDetachedBooking(entry, booking.get());
+		}
+		return false;
+	}
+
+	// The booking joins the transaction of the claim in most booking modes, a failed booking rolls the claim back and
+	// a rolled back claim takes the booking with it. The partitioned mode commits the booking on its own, possibly on
+	// another member, so a claim rolled back after the booking leaves a Reservation to cancel
+	private boolean promote(WaitlistEntry entry, AtomicReference<Reservation> booking) {
+		if (waitlistRepo.claimForPromotion(entry.getId()) == 0) {
+			log.debug("Waitlist entry {} already promoted or withdrawn", entry.getId());
+			return false;
+		}
+
+		Reservation reservation = reservationService.createNewReservation(entry.toReservation());
+		booking.set(reservation);
+		waitlistRepo.assignReservation(entry.getId(), reservation.getId());
+		log.info("Waitlist entry {} promoted to reservation {}", entry.getId(), reservation.getId());
+
+		return true;
+	}
+
+	private void cancelDetachedBooking(WaitlistEntry entry, Reservation reservation) {
+		if (reservation == null || reservationService.isCreateJoiningTransaction()) {
+			return;
+		}
+		try {
+			reservationService.cancelReservation(reservation.getId().toString());
+			log.info("Reservation {} of waitlist entry {} cancelled, its promotion was rolled back", reservation.getId(),
+					entry.getId());
+		} catch (RuntimeException e) {
+			log.error("Reservation {} of waitlist entry {} could not be cancelled after its promotion was rolled back",
+					reservation.getId(), entry.getId(), e);
+		}
+	}
+
+	private UUID parseId(String entryId) {
+		try {
+			return UUID.fromString(entryId);
+		} catch (Exception e) {
+			throw new BadRequestException(VALIDATION_ERROR_ID);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+
+/**
+ * Formats and parses single CSV lines (RFC 4180): values holding a comma or a double quote are enclosed in double
+ * quotes, inner double quotes being doubled. Values spanning several lines are not supported, so that files can be
+ * read line by line: line breaks are replaced by spaces when formatting.
+ */
+public class CsvLine {
+
+	private static final String ERROR_UNTERMINATED_QUOTE = "Unterminated quoted value in CSV line";
+	private static final Pattern LINE_BREAK = Pattern.compile("\r\n|[\r\n]");
+
+	public static String format(String... values) {
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				line.append(',');
+			}
+			String value = values[i] == null ? "" : LINE_BREAK.matcher(values[i]).replaceAll(" ");
+			if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+				line.append('"').append(value.replace("\"", "\"\"")).append('"');
+			} else {
+				line.append(value);
+			}
+		}
+		return line.toString();
+	}
+
+	public static List<String> parse(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					value.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+
+		if (quoted) {
+			throw new BadRequestException(ERROR_UNTERMINATED_QUOTE);
+		}
+		values.add(value.toString());
+		return values;
+	}
+}
@@ -0,0 +1,54 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Half-open range of dates [start, end), matching how reservations hold their nights.
+ */
+@Value
+@AllArgsConstructor(staticName = "of")
+public class DateRange {
+
+	LocalDate start;
+	LocalDate end;
+
+	public boolean isEmpty() {
+		return !start.isBefore(end);
+	}
+
+	public boolean overlaps(DateRange other) {
+		return start.isBefore(other.end) && other.start.isBefore(end);
+	}
+
+	/**
+	 * Computes the dates of this range that are not part of the other range.
+	 * 
+	 * @param other (DateRange) Range to subtract
+	 * @return (List<DateRange>) Up to two non-empty ranges, in ascending order
+	 */
+	public List<DateRange> minus(DateRange other) {
+		List<DateRange> remaining = new ArrayList<>(2);
+
+		if (other.isEmpty() || !other.start.isBefore(end) || !start.isBefore(other.end)) {
+			if (!isEmpty()) {
+				remaining.add(this);
+			}
+			return remaining;
+		}
+
+		DateRange before = DateRange.of(start, other.start);
+		DateRange after = DateRange.of(other.end, end);
+		if (!before.isEmpty()) {
+			remaining.add(before);
+		}
+		if (!after.isEmpty()) {
+			remaining.add(after);
+		}
+		return remaining;
+	}
+}
@@ -0,0 +1,57 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring of cluster members. Each member is placed on the ring at several points (virtual nodes) so
+ * that keys spread evenly, and a key is owned by the first member point at or after its own hash. Adding or
+ * removing a member only moves the keys of the ring segments next to its points.
+ */
+public class HashRing {
+
+	private final TreeMap<Long, String> points = new TreeMap<>();
+	private final List<String> members;
+
+	public HashRing(Collection<String> members, int virtualNodes) {
+		if (members == null || members.isEmpty()) {
+			throw new IllegalArgumentException("A hash ring needs at least one member");
+		}
+		if (virtualNodes <= 0) {
+			throw new IllegalArgumentException("A hash ring needs at least one virtual node per member");
+		}
+		this.members = Collections.unmodifiableList(new ArrayList<>(members));
+		for (String member : members) {
+			for (int virtualNode = 0; virtualNode < virtualNodes; virtualNode++) {
+				points.put(hash(member + "#" + virtualNode), member);
+			}
+		}
+	}
+
+	public String ownerOf(String key) {
+		Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+		return point != null ? point.getValue() : points.firstEntry().getValue();
+	}
+
+	public List<String> getMembers() {
+		return members;
+	}
+
+	// 64-bit FNV-1a, with a final avalanche so that close keys land far apart on the ring
+	static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte keyByte : key.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= keyByte & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
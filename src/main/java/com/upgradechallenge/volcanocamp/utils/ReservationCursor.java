@@ -0,0 +1,60 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Opaque keyset pagination cursor pointing right after a given Reservation in (check-in date, id) order.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationCursor {
+
+	private static final String VALIDATION_ERROR_CURSOR = "The provided cursor is not valid";
+	private static final String SEPARATOR = "|";
+
+	/**
+	 * (check-in date, id) order of the lookup queries, ids compared as unsigned bytes the way PostgreSQL orders its
+	 * uuid columns, so that pages merged from several tables match the keyset conditions of the next page.
+	 */
+	public static final Comparator<Reservation> ORDER = Comparator.comparing(Reservation::getCheckinDate)
+			.thenComparing(Reservation::getId, ReservationCursor::compareIds);
+
+	private final LocalDate checkinDate;
+	private final UUID id;
+
+	public static ReservationCursor after(Reservation reservation) {
+		return new ReservationCursor(reservation.getCheckinDate(), reservation.getId());
+	}
+
+	public String encode() {
+		String raw = checkinDate + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static int compareIds(UUID first, UUID second) {
+		int mostSignificant = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+		return mostSignificant != 0 ? mostSignificant
+				: Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+	}
+
+	public static ReservationCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separatorIndex = raw.indexOf(SEPARATOR);
+			return new ReservationCursor(LocalDate.parse(raw.substring(0, separatorIndex)),
+					UUID.fromString(raw.substring(separatorIndex + 1)));
+		} catch (Exception e) {
+			throw new BadRequestException(VALIDATION_ERROR_CURSOR);
+		}
+	}
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
 import com.upgradechallenge.volcanocamp.dto.ReservationDto;
+import com.upgradechallenge.volcanocamp.monitoring.BookingPhaseEvent;
 
 public class ReservationDatesValidator implements ConstraintValidator<ValidReservationDates, ReservationDto> {
 	
@@ -42,21 +43,39 @@ public class ReservationDatesValidator implements ConstraintValidator<ValidReser
 	 */
 	@Override
 	public boolean isValid(ReservationDto requestReservation, ConstraintValidatorContext constraintContext) {
+		String violation = findViolation(requestReservation.getCheckinDate(), requestReservation.getCheckoutDate());
+		if (violation != null) {
+			this.setConstraintViolationInContext(violation, constraintContext);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Validates Reservation request dates syntactically and schematically, outside of bean validation (e.g. for the
+	 * gRPC interface).
+	 * 
+	 * @param checkinDate (String) Requested check-in date in yyyy-MM-dd format
+	 * @param checkoutDate (String) Requested check-out date in yyyy-MM-dd format
+	 * @return (String) Message of the first violated constraint, null if both dates are valid
+	 */
+	public String findViolation(String checkinDate, String checkoutDate) {
+		return BookingPhaseEvent.record(BookingPhaseEvent.VALIDATION, () -> validateDates(checkinDate, checkoutDate));
+	}
+
+	private String validateDates(String checkinDate, String checkoutDate) {
 		
 		LocalDate requestCheckinDate = null;
 		LocalDate requestCheckoutDate = null;
 		try {
-			String checkinDate = requestReservation.getCheckinDate();
-			String checkinOutDate = requestReservation.getCheckoutDate();
-			if (checkinDate != null && checkinOutDate != null) {
+			if (checkinDate != null && checkoutDate != null) {
 				DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 				requestCheckinDate = LocalDate.parse(checkinDate, formatter);
-				requestCheckoutDate = LocalDate.parse(checkinOutDate, formatter);
+				requestCheckoutDate = LocalDate.parse(checkoutDate, formatter);
 			}
 		} catch (Exception e) {
 			log.debug("Validate field format: failed");
-			this.setConstraintViolationInContext(VALIDATION_ERROR_INVALID_DATE_FORMAT, constraintContext);
-			return false;
+			return VALIDATION_ERROR_INVALID_DATE_FORMAT;
 		}
 		log.debug("Validate field format: passed");
 
@@ -64,8 +83,7 @@ public class ReservationDatesValidator implements ConstraintValidator<ValidReser
 		// This can also be done via @NotNull in the DTO field validation
 		if (requestCheckinDate == null || requestCheckoutDate == null) {
 			log.debug("Both dates provided and not null: failed");
-			this.setConstraintViolationInContext(VALIDATION_ERROR_DATES_REQUIRED, constraintContext);
-			return false;
+			return VALIDATION_ERROR_DATES_REQUIRED;
 		}
 		log.debug("Both dates provided and not null: passed");
 
@@ -73,16 +91,14 @@ public class ReservationDatesValidator implements ConstraintValidator<ValidReser
 		LocalDate today = LocalDate.now();
 		if (today.isAfter(requestCheckinDate) || (today.isAfter(requestCheckoutDate))) {
 			log.debug("Both dates provided are in the future: failed");
-			this.setConstraintViolationInContext(VALIDATION_ERROR_DATES_FUTURE, constraintContext);
-			return false;
+			return VALIDATION_ERROR_DATES_FUTURE;
 		}
 		log.debug("Both dates provided are in the future: passed");
 
 		// Check if check-in date comes before check-out
 		if (requestCheckinDate.isAfter(requestCheckoutDate)) {
 			log.debug("Check-in date is before check-out date: failed");
-			this.setConstraintViolationInContext(VALIDATION_ERROR_CHECKIN_AFTER_CHECKOUT, constraintContext);
-			return false;
+			return VALIDATION_ERROR_CHECKIN_AFTER_CHECKOUT;
 		}
 		log.debug("Check-in date is before check-out date: passed");
 
@@ -91,8 +107,7 @@ public class ReservationDatesValidator implements ConstraintValidator<ValidReser
 
 		if (reservationLength < reservationConfig.getMinLength() || reservationLength > reservationConfig.getMaxLength()) {
 			log.debug("Reservation length constraint: failed");
-			this.setConstraintViolationInContext(VALIDATION_ERROR_RESERVATION_LENGTH, constraintContext);
-			return false;
+			return VALIDATION_ERROR_RESERVATION_LENGTH;
 		}
 		log.debug("Reservation length constraint: passed");
 
@@ -102,12 +117,11 @@ public class ReservationDatesValidator implements ConstraintValidator<ValidReser
 
 		if (requestCheckinDate.isBefore(minReservationStart) || requestCheckinDate.isAfter(maxReservationStart)) {
 			log.debug("Reservation check-in min and max dates: failed");
-			this.setConstraintViolationInContext(VALIDATION_ERROR_RESERVATION_START_LIMITS, constraintContext);
-			return false;
+			return VALIDATION_ERROR_RESERVATION_START_LIMITS;
 		}	
 		log.debug("Reservation check-in min and max dates: passed");
 		
-		return true;
+		return null;
 	}
 
 	private void setConstraintViolationInContext(String violationMessage,
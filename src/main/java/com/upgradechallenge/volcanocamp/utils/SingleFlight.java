@@ -0,0 +1,59 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key onto a single execution: the first caller runs the loader while the
+ * callers arriving before it completes wait for and share its result, or its exception. Nothing is cached once the
+ * execution completes, the next call for the key runs the loader again.
+ * 
+ * @param <K> Key identifying identical calls
+ * @param <V> Result shared between the coalesced callers, expected to be immutable
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	public V execute(K key, Supplier<V> loader) {
+		CompletableFuture<V> execution = new CompletableFuture<>();
+		CompletableFuture<V> runningExecution = inFlight.putIfAbsent(key, execution);
+
+		if (runningExecution != null) {
+			return await(runningExecution);
+		}
+
+		try {
+			V result = loader.get();
+			execution.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			execution.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, execution);
+		}
+	}
+
+	// Callers currently waiting for the execution running for the key, for tests
+	int waitingCallers(K key) {
+		CompletableFuture<V> execution = inFlight.get(key);
+		return execution == null ? 0 : execution.getNumberOfDependents();
+	}
+
+	private V await(CompletableFuture<V> execution) {
+		try {
+			return execution.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
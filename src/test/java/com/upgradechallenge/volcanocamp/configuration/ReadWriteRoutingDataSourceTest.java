@@ -0,0 +1,40 @@
+package com.upgradechallenge.volcanocamp.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSourceTest {
+
+	ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+
+	@After
+	public void cleanup() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		ReadRoutingContext.clear();
+	}
+
+	@Test
+	public void givenReadOnlyTransaction_determineCurrentLookupKey_shouldRouteToReplica() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertEquals(DataSourceRole.REPLICA, routingDataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	public void givenReadWriteTransaction_determineCurrentLookupKey_shouldRouteToPrimary() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+		assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	public void givenReadOnlyTransactionWithPrimaryForced_determineCurrentLookupKey_shouldRouteToPrimary() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		ReadRoutingContext.forcePrimary();
+
+		assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+	}
+}
@@ -0,0 +1,146 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.grpc.BookingResult;
+import com.upgradechallenge.volcanocamp.grpc.ReservationMessage;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.service.ReservationService;
+import com.upgradechallenge.volcanocamp.utils.ReservationDatesValidator;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReservationsGrpcServiceTest {
+
+	private static final String TEST_USER_FULLNAME = "Test user";
+	private static final String TEST_USER_EMAIL = "test@mail.com";
+	private static final LocalDate CHECKIN_DATE = LocalDate.now().plusDays(1);
+	private static final LocalDate CHECKOUT_DATE = LocalDate.now().plusDays(2);
+	private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+	@Mock
+	ReservationService reservationServiceMock;
+
+	@Mock
+	ReservationDatesValidator datesValidatorMock;
+
+	@Mock
+	StreamObserver<ReservationMessage> reservationObserverMock;
+
+	@Mock
+	StreamObserver<BookingResult> bookingObserverMock;
+
+	@InjectMocks
+	ReservationsGrpcService reservationsGrpcService;
+
+	@Before
+	public void setUp() {
+		reservationsGrpcService.validator = VALIDATOR;
+	}
+
+	@Test
+	public void givenValidReservation_createReservation_shouldReturnBookedReservation() {
+		Reservation booked = buildReservation();
+		when(reservationServiceMock.createNewReservation(any())).thenReturn(booked);
+
+		reservationsGrpcService.createReservation(buildMessage(TEST_USER_FULLNAME), reservationObserverMock);
+
+		ArgumentCaptor<ReservationMessage> response = ArgumentCaptor.forClass(ReservationMessage.class);
+		verify(reservationObserverMock).onNext(response.capture());
+		verify(reservationObserverMock).onCompleted();
+		assertEquals(booked.getId().toString(), response.getValue().getId());
+		assertEquals(CHECKIN_DATE.toString(), response.getValue().getCheckinDate());
+		assertEquals(CHECKOUT_DATE.toString(), response.getValue().getCheckoutDate());
+	}
+
+	@Test
+	public void givenInvalidDates_createReservation_shouldFailWithInvalidArgument() {
+		when(datesValidatorMock.findViolation(CHECKIN_DATE.toString(), CHECKOUT_DATE.toString()))
+				.thenReturn("The check-in date must be before the check-out date");
+
+		reservationsGrpcService.createReservation(buildMessage(TEST_USER_FULLNAME), reservationObserverMock);
+
+		ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+		verify(reservationObserverMock).onError(error.capture());
+		assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(error.getValue()).getCode());
+		verify(reservationServiceMock, never()).createNewReservation(any());
+	}
+
+	@Test
+	public void givenMalformedEmail_createReservation_shouldFailWithInvalidArgument() {
+		ReservationMessage message = buildMessage(TEST_USER_FULLNAME).toBuilder().setUserEmail("not an email").build();
+
+		reservationsGrpcService.createReservation(message, reservationObserverMock);
+
+		ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+		verify(reservationObserverMock).onError(error.capture());
+		assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(error.getValue()).getCode());
+		assertEquals("Email must be a valid e-mail", Status.fromThrowable(error.getValue()).getDescription());
+		verify(reservationServiceMock, never()).createNewReservation(any());
+	}
+
+	@Test
+	public void givenMissingName_createReservation_shouldFailWithInvalidArgument() {
+		reservationsGrpcService.createReservation(buildMessage(""), reservationObserverMock);
+
+		ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+		verify(reservationObserverMock).onError(error.capture());
+		assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(error.getValue()).getCode());
+		verify(reservationServiceMock, never()).createNewReservation(any());
+	}
+
+	@Test
+	public void givenConflictingBooking_bookReservations_shouldAnswerEveryBookingInOrder() {
+		when(reservationServiceMock.createNewReservation(any())).thenThrow(new OccupiedPeriodException())
+				.thenReturn(buildReservation());
+
+		StreamObserver<ReservationMessage> requests = reservationsGrpcService.bookReservations(bookingObserverMock);
+		requests.onNext(buildMessage(TEST_USER_FULLNAME));
+		requests.onNext(buildMessage(TEST_USER_FULLNAME));
+		requests.onCompleted();
+
+		ArgumentCaptor<BookingResult> results = ArgumentCaptor.forClass(BookingResult.class);
+		verify(bookingObserverMock, times(2)).onNext(results.capture());
+		verify(bookingObserverMock).onCompleted();
+		List<BookingResult> answered = results.getAllValues();
+		assertEquals(Status.Code.ALREADY_EXISTS.name(), answered.get(0).getErrorCode());
+		assertFalse(answered.get(0).hasReservation());
+		assertEquals("", answered.get(1).getErrorCode());
+		assertEquals(TEST_USER_EMAIL, answered.get(1).getReservation().getUserEmail());
+	}
+
+	private ReservationMessage buildMessage(String userFullName) {
+		return ReservationMessage.newBuilder().setUserFullName(userFullName).setUserEmail(TEST_USER_EMAIL)
+				.setCheckinDate(CHECKIN_DATE.toString()).setCheckoutDate(CHECKOUT_DATE.toString()).build();
+	}
+
+	private Reservation buildReservation() {
+		return Reservation.builder().id(UUID.randomUUID()).active(true).userFullName(TEST_USER_FULLNAME)
+				.userEmail(TEST_USER_EMAIL).checkinDate(CHECKIN_DATE).checkoutDate(CHECKOUT_DATE).build();
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.upgradechallenge.volcanocamp.controller;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.upgradechallenge.volcanocamp.exception.QueuedRequestException;
+import com.upgradechallenge.volcanocamp.service.PartitionForwarder;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom.QueuePosition;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WaitingRoomInterceptorTest {
+
+	@Mock
+	WaitingRoom waitingRoomMock;
+
+	@Mock
+	PartitionForwarder partitionForwarderMock;
+
+	@Test(expected = QueuedRequestException.class)
+	public void givenForwardedMarkOutsideThePartitionedMode_preHandle_shouldQueueTheRequest() {
+		MockHttpServletRequest request = forwardedBooking();
+		when(waitingRoomMock.enter(null)).thenReturn(new QueuePosition(UUID.randomUUID(), 1, false, 1));
+
+		new WaitingRoomInterceptor(waitingRoomMock, null).preHandle(request, new MockHttpServletResponse(), null);
+	}
+
+	@Test(expected = QueuedRequestException.class)
+	public void givenForwardedMarkWithoutValidSignature_preHandle_shouldQueueTheRequest() {
+		MockHttpServletRequest request = forwardedBooking();
+		when(partitionForwarderMock.isSignedForward(request)).thenReturn(false);
+		when(waitingRoomMock.enter(null)).thenReturn(new QueuePosition(UUID.randomUUID(), 1, false, 1));
+
+		new WaitingRoomInterceptor(waitingRoomMock, partitionForwarderMock).preHandle(request,
+				new MockHttpServletResponse(), null);
+	}
+
+	@Test
+	public void givenRequestSignedByAMember_preHandle_shouldLetItThrough() {
+		MockHttpServletRequest request = forwardedBooking();
+		when(partitionForwarderMock.isSignedForward(request)).thenReturn(true);
+
+		assertTrue(new WaitingRoomInterceptor(waitingRoomMock, partitionForwarderMock).preHandle(request,
+				new MockHttpServletResponse(), null));
+		verify(waitingRoomMock, never()).enter(any());
+	}
+
+	private MockHttpServletRequest forwardedBooking() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/reservations");
+		request.addHeader(PartitionForwarder.FORWARDED_HEADER, "true");
+		return request;
+	}
+}
@@ -0,0 +1,31 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class FixedErrorBodyTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void givenFixedError_render_shouldSerializeLikeOperationError() throws Exception {
+		FixedErrorBody body = new FixedErrorBody(HttpStatus.CONFLICT, "Occupied period error",
+				OccupiedPeriodException.OCCUPIED_DATE_ERROR);
+
+		ObjectNode rendered = (ObjectNode) objectMapper.readTree(body.render(objectMapper));
+		ObjectNode expected = (ObjectNode) objectMapper.readTree(objectMapper.writeValueAsBytes(new OperationError(
+				HttpStatus.CONFLICT, "Occupied period error", OccupiedPeriodException.OCCUPIED_DATE_ERROR)));
+
+		assertEquals(expected.without("timeStamp"), rendered.without("timeStamp"));
+	}
+
+	@Test
+	public void givenBusinessException_getStackTrace_shouldBeEmpty() {
+		assertEquals(0, new OccupiedPeriodException().getStackTrace().length);
+	}
+}
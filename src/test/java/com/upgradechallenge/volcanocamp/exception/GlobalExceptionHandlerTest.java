@@ -0,0 +1,35 @@
+package com.upgradechallenge.volcanocamp.exception;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLTransientConnectionException;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class GlobalExceptionHandlerTest {
+
+	private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+	@Before
+	public void init() {
+		exceptionHandler.objectMapper = new ObjectMapper();
+	}
+
+	@Test
+	public void givenPoolExhaustedAtFirstStatement_handleConnectionFailureException_shouldAnswerServiceUnavailable() {
+		SQLTransientConnectionException poolTimeout = new SQLTransientConnectionException(
+				"HikariPool-1 - Connection is not available, request timed out after 250ms.");
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exceptionHandler.handleConnectionFailureException(
+				new DataAccessResourceFailureException("Unable to acquire JDBC Connection", poolTimeout)).getStatusCode());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exceptionHandler.handleConnectionFailureException(
+				new JDBCConnectionException("Unable to acquire JDBC Connection", poolTimeout)).getStatusCode());
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.upgradechallenge.volcanocamp.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+public class TracingFilterTest {
+
+	private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+	private static final String PARENT_SPAN_ID = "b7ad6b7169203331";
+	private static final String ROUTE = "/api/v1/reservations/{reservationId}";
+
+	private final List<SpanData> exportedSpans = new ArrayList<>();
+
+	private SdkTracerProvider tracerProvider;
+
+	private final TracingFilter tracingFilter = new TracingFilter();
+
+	@Before
+	public void setUp() {
+		tracerProvider = SdkTracerProvider.builder().setSampler(Sampler.alwaysOn())
+				.addSpanProcessor(SimpleSpanProcessor.create(new CollectingSpanExporter())).build();
+		Tracing.install(OpenTelemetrySdk.builder().setTracerProvider(tracerProvider)
+				.setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance())).build());
+	}
+
+	@After
+	public void tearDown() {
+		Tracing.install(OpenTelemetry.noop());
+		tracerProvider.close();
+	}
+
+	@Test
+	public void givenTraceparentHeader_doFilter_shouldContinueTheIncomingTrace() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reservations/42");
+		request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+
+		tracingFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+		});
+
+		assertEquals(1, exportedSpans.size());
+		assertEquals(TRACE_ID, exportedSpans.get(0).getTraceId());
+		assertEquals(PARENT_SPAN_ID, exportedSpans.get(0).getParentSpanId());
+	}
+
+	@Test
+	public void givenNoTraceparentHeader_doFilter_shouldStartANewTrace() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reservations/42");
+
+		tracingFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+		});
+
+		assertEquals(1, exportedSpans.size());
+		assertFalse(exportedSpans.get(0).getParentSpanContext().isValid());
+	}
+
+	@Test
+	public void givenMappedRequest_doFilter_shouldNameSpanAfterRouteTemplate() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/reservations/42");
+
+		tracingFilter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE));
+
+		assertEquals(1, exportedSpans.size());
+		assertEquals("PATCH " + ROUTE, exportedSpans.get(0).getName());
+	}
+
+	@Test
+	public void givenUnmappedRequest_doFilter_shouldNameSpanAfterMethod() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/unknown/42");
+
+		tracingFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+		});
+
+		assertEquals(1, exportedSpans.size());
+		assertEquals("GET", exportedSpans.get(0).getName());
+	}
+
+	private class CollectingSpanExporter implements SpanExporter {
+
+		@Override
+		public CompletableResultCode export(Collection<SpanData> spans) {
+			exportedSpans.addAll(spans);
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode flush() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode shutdown() {
+			return CompletableResultCode.ofSuccess();
+		}
+	}
+}
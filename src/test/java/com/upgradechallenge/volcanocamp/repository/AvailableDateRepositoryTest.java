@@ -0,0 +1,67 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.upgradechallenge.volcanocamp.model.ReservationDate;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(AvailableDateRepository.class)
+public class AvailableDateRepositoryTest {
+
+	private static final LocalDate FROM_DATE = LocalDate.of(2030, 1, 1);
+	private static final LocalDate TO_DATE = LocalDate.of(2030, 1, 6);
+
+	@Autowired
+	AvailableDateRepository availableDateRepo;
+
+	@Autowired
+	ReservationDateRepository reservationDateRepo;
+
+	@Before
+	public void setUp() {
+		// Occupied: the day before the period, its first day, a day in the middle and the excluded end date
+		reservationDateRepo.saveAllAndFlush(Arrays.asList(date(FROM_DATE.minusDays(1)), date(FROM_DATE),
+				date(FROM_DATE.plusDays(2)), date(TO_DATE)));
+	}
+
+	@Test
+	public void givenOccupiedDates_findFreeDatesInInterval_shouldReturnTheOthersInOrder() {
+		assertEquals(Arrays.asList(FROM_DATE.plusDays(1), FROM_DATE.plusDays(3), FROM_DATE.plusDays(4)),
+				availableDateRepo.findFreeDatesInInterval(FROM_DATE, TO_DATE));
+	}
+
+	@Test
+	public void givenSingleFreeDay_findFreeDatesInInterval_shouldReturnIt() {
+		assertEquals(Collections.singletonList(FROM_DATE.plusDays(1)),
+				availableDateRepo.findFreeDatesInInterval(FROM_DATE.plusDays(1), FROM_DATE.plusDays(2)));
+	}
+
+	@Test
+	public void givenSingleOccupiedDay_findFreeDatesInInterval_shouldReturnNothing() {
+		assertTrue(availableDateRepo.findFreeDatesInInterval(FROM_DATE, FROM_DATE.plusDays(1)).isEmpty());
+	}
+
+	@Test
+	public void givenEmptyRange_findFreeDatesInInterval_shouldReturnNothing() {
+		assertTrue(availableDateRepo.findFreeDatesInInterval(FROM_DATE.plusDays(1), FROM_DATE.plusDays(1)).isEmpty());
+	}
+
+	private static ReservationDate date(LocalDate date) {
+		return ReservationDate.builder().date(date).build();
+	}
+
+}
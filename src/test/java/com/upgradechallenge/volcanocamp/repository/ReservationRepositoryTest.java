@@ -0,0 +1,40 @@
+package com.upgradechallenge.volcanocamp.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.upgradechallenge.volcanocamp.model.Reservation;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class ReservationRepositoryTest {
+
+	private static final LocalDate CHECKIN_DATE = LocalDate.now().plusDays(1);
+
+	@Autowired
+	ReservationRepository reservationRepo;
+
+	@Test
+	public void givenEmailInAnotherCase_findFirstPageByUserEmail_shouldReturnTheReservationsOfTheUser() {
+		reservationRepo.saveAndFlush(Reservation.builder().userFullName("Test user").userEmail("Test.User@Mail.com")
+				.checkinDate(CHECKIN_DATE).checkoutDate(CHECKIN_DATE.plusDays(2)).active(true).build());
+		reservationRepo.saveAndFlush(Reservation.builder().userFullName("Other user").userEmail("other@mail.com")
+				.checkinDate(CHECKIN_DATE).checkoutDate(CHECKIN_DATE.plusDays(2)).active(true).build());
+
+		List<Reservation> reservations = reservationRepo.findFirstPageByUserEmail("test.user@MAIL.com",
+				CHECKIN_DATE, CHECKIN_DATE.plusMonths(1), PageRequest.of(0, 10));
+
+		assertEquals(1, reservations.size());
+		assertEquals("Test.User@Mail.com", reservations.get(0).getUserEmail());
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.upgradechallenge.volcanocamp.exception.MethodNotAllowedException;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.DateCapacity;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.repository.DateCapacityRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CapacityReservationServiceTest extends ReservationServiceMocks {
+
+	private static final String MOCK_UUID = "c1614525-f582-4702-b886-db95d4489a4a";
+
+	@Mock
+	DateCapacityRepository dateCapacityRepoMock;
+
+	@Mock
+	SoldOutDates soldOutDatesMock;
+
+	@InjectMocks
+	CapacityReservationService reservationService = new CapacityReservationService();
+
+	@Test
+	public void givenPitchesLeftOnEveryDate_createNewReservation_shouldSaveActiveReservation() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build();
+		Reservation expectedReservation = Reservation.builder().checkinDate(startDate).checkoutDate(endDate)
+				.id(UUID.fromString(MOCK_UUID)).active(true).build();
+
+		when(dateCapacityRepoMock.claimPitchInInterval(startDate, endDate)).thenReturn(2);
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(expectedReservation);
+
+		Reservation savedReservation = reservationService.createNewReservation(reservationToSave);
+
+		assertTrue(savedReservation.isActive());
+	}
+
+	@Test(expected = OccupiedPeriodException.class)
+	public void givenOneSoldOutDate_createNewReservation_shouldThrowException() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		when(dateCapacityRepoMock.claimPitchInInterval(startDate, endDate)).thenReturn(1);
+
+		reservationService.createNewReservation(Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build());
+	}
+
+	@Test(expected = OccupiedPeriodException.class)
+	public void givenDateRecentlySeenSoldOut_createNewReservation_shouldThrowWithoutUpdating() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		when(soldOutDatesMock.anySoldOut(DateRange.of(startDate, endDate))).thenReturn(true);
+
+		try {
+			reservationService
+					.createNewReservation(Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build());
+		} finally {
+			verify(dateCapacityRepoMock, never()).claimPitchInInterval(any(), any());
+		}
+	}
+
+	@Test
+	public void givenPartiallyProvisionedPeriod_getRemainingCapacity_shouldReportUnprovisionedDatesAsFull() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(2);
+
+		when(dateCapacityRepoMock.findCapacityInInterval(startDate, endDate.plusDays(1)))
+				.thenReturn(Collections.singletonList(DateCapacity.builder().date(startDate).capacity(4).remaining(3).build()));
+
+		SortedMap<LocalDate, Integer> remainingCapacity = reservationService.getRemainingCapacity(startDate, endDate);
+
+		assertEquals(Integer.valueOf(3), remainingCapacity.get(startDate));
+		assertEquals(Integer.valueOf(0), remainingCapacity.get(endDate));
+	}
+
+	@Test
+	public void givenReservationCancelledTwice_cancelReservation_shouldGiveBackItsPitchesOnce() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		Reservation reservation = Reservation.builder().checkinDate(startDate).checkoutDate(endDate)
+				.id(UUID.fromString(MOCK_UUID)).active(true).build();
+		when(reservationRepoMock.findById(UUID.fromString(MOCK_UUID))).thenReturn(Optional.of(reservation));
+
+		reservationService.cancelReservation(MOCK_UUID);
+		try {
+			reservationService.cancelReservation(MOCK_UUID);
+			fail("A cancelled reservation must not be cancelled again");
+		} catch (MethodNotAllowedException e) {
+			// expected
+		}
+
+		verify(dateCapacityRepoMock, times(1)).releasePitchInInterval(startDate, endDate);
+	}
+}
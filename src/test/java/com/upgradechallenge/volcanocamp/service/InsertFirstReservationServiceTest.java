@@ -0,0 +1,81 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InsertFirstReservationServiceTest extends ReservationServiceMocks {
+
+	private static final String MOCK_UUID = "c1614525-f582-4702-b886-db95d4489a4a";
+
+	@InjectMocks
+	InsertFirstReservationService reservationService = new InsertFirstReservationService();
+
+	@Test
+	public void givenValidReservation_createNewReservation_shouldInsertDatesWithoutLockedRead() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build();
+		Reservation expectedReservation = Reservation.builder().checkinDate(startDate).checkoutDate(endDate)
+				.id(UUID.fromString(MOCK_UUID)).active(true).build();
+
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(expectedReservation);
+
+		Reservation savedReservation = reservationService.createNewReservation(reservationToSave);
+
+		assertEquals(expectedReservation, savedReservation);
+		assertTrue(savedReservation.isActive());
+		verify(reservationDateRepoMock).saveAllAndFlush(anyList());
+		verify(reservationDateRepoMock, never()).findActiveReservationsInInterval(startDate, endDate);
+	}
+
+	@Test(expected = OccupiedPeriodException.class)
+	public void givenAlreadyReservedDates_createNewReservation_shouldThrowException() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build();
+
+		when(reservationDateRepoMock.saveAllAndFlush(anyList()))
+				.thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+		reservationService.createNewReservation(reservationToSave);
+	}
+
+	@Test(expected = OccupiedPeriodException.class)
+	public void givenNewDatesReservedByOthers_updateReservation_shouldThrowException() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+		UUID uuid = UUID.fromString(MOCK_UUID);
+
+		Optional<Reservation> mockResOptional = Optional
+				.of(Reservation.builder().checkinDate(startDate).checkoutDate(endDate).id(uuid).active(true).build());
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate.plusDays(1))
+				.checkoutDate(endDate.plusDays(1)).build();
+
+		when(reservationRepoMock.findById(uuid)).thenReturn(mockResOptional);
+		when(reservationDateRepoMock.saveAllAndFlush(anyList()))
+				.thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+		reservationService.updateReservation(MOCK_UUID, reservationToSave);
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.InventoryDate;
+import com.upgradechallenge.volcanocamp.model.InventoryStatus;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.repository.InventoryDateRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InventoryReservationServiceTest extends ReservationServiceMocks {
+
+	private static final String MOCK_UUID = "c1614525-f582-4702-b886-db95d4489a4a";
+
+	@Mock
+	InventoryDateRepository inventoryDateRepoMock;
+
+	@InjectMocks
+	InventoryReservationService reservationService = new InventoryReservationService();
+
+	@Test
+	public void givenFreeInventoryDates_createNewReservation_shouldMarkThemTakenByTheReservation() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+		UUID uuid = UUID.fromString(MOCK_UUID);
+
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build();
+		Reservation expectedReservation = Reservation.builder().checkinDate(startDate).checkoutDate(endDate).id(uuid)
+				.active(true).build();
+		List<InventoryDate> freeDates = Arrays.asList(InventoryDate.free(startDate),
+				InventoryDate.free(startDate.plusDays(1)));
+
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(expectedReservation);
+		when(inventoryDateRepoMock.claimFreeDatesInInterval(startDate, endDate)).thenReturn(freeDates);
+
+		Reservation savedReservation = reservationService.createNewReservation(reservationToSave);
+
+		assertTrue(savedReservation.isActive());
+		for (InventoryDate claimedDate : freeDates) {
+			assertEquals(InventoryStatus.TAKEN, claimedDate.getStatus());
+			assertEquals(uuid, claimedDate.getReservationId());
+		}
+	}
+
+	@Test(expected = OccupiedPeriodException.class)
+	public void givenInventoryDateTakenOrLocked_createNewReservation_shouldThrowException() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate).checkoutDate(endDate).build();
+		Reservation expectedReservation = Reservation.builder().checkinDate(startDate).checkoutDate(endDate)
+				.id(UUID.fromString(MOCK_UUID)).active(true).build();
+
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(expectedReservation);
+		when(inventoryDateRepoMock.claimFreeDatesInInterval(startDate, endDate))
+				.thenReturn(Collections.singletonList(InventoryDate.free(startDate)));
+
+		reservationService.createNewReservation(reservationToSave);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.upgradechallenge.volcanocamp.configuration.ClusterConfiguration;
+
+public class PartitionForwarderTest {
+
+	private static final String RESERVATIONS_PATH = "/api/v1/reservations";
+
+	@Test
+	public void givenRequestThatNeverReachedTheOwner_isConnectFailure_shouldReturnTrue() {
+		assertTrue(PartitionForwarder
+				.isConnectFailure(new ResourceAccessException("I/O error", new ConnectException("Connection refused"))));
+		assertTrue(PartitionForwarder
+				.isConnectFailure(new ResourceAccessException("I/O error", new ConnectTimeoutException("Connect timed out"))));
+	}
+
+	@Test
+	public void givenReadTimeout_isConnectFailure_shouldReturnFalse() {
+		assertFalse(PartitionForwarder
+				.isConnectFailure(new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out"))));
+	}
+
+	@Test
+	public void givenRequestSignedByAMember_isSignedForward_shouldReturnTrue() {
+		PartitionForwarder partitionForwarder = newPartitionForwarder("secret");
+
+		assertTrue(partitionForwarder.isSignedForward(forwardedRequest("POST", RESERVATIONS_PATH,
+				partitionForwarder.forwardedHeader("POST", RESERVATIONS_PATH, System.currentTimeMillis()))));
+	}
+
+	@Test
+	public void givenSpoofedOrReplayedRequest_isSignedForward_shouldReturnFalse() {
+		PartitionForwarder partitionForwarder = newPartitionForwarder("secret");
+		long now = System.currentTimeMillis();
+
+		assertFalse(partitionForwarder.isSignedForward(forwardedRequest("POST", RESERVATIONS_PATH, "true")));
+		assertFalse(partitionForwarder.isSignedForward(forwardedRequest("POST", RESERVATIONS_PATH,
+				newPartitionForwarder("other").forwardedHeader("POST", RESERVATIONS_PATH, now))));
+		assertFalse(partitionForwarder.isSignedForward(forwardedRequest("PATCH", RESERVATIONS_PATH + "/1",
+				partitionForwarder.forwardedHeader("POST", RESERVATIONS_PATH, now))));
+		assertFalse(partitionForwarder.isSignedForward(forwardedRequest("POST", RESERVATIONS_PATH,
+				partitionForwarder.forwardedHeader("POST", RESERVATIONS_PATH, now - 3600000))));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void givenNoForwardSecret_constructor_shouldFail() {
+		newPartitionForwarder("");
+	}
+
+	private PartitionForwarder newPartitionForwarder(String forwardSecret) {
+		ClusterConfiguration clusterConfig = new ClusterConfiguration();
+		clusterConfig.setForwardTimeoutMs(1000);
+		clusterConfig.setForwardSecret(forwardSecret);
+		return new PartitionForwarder(new RestTemplateBuilder(), clusterConfig);
+	}
+
+	private MockHttpServletRequest forwardedRequest(String method, String path, String forwardedHeader) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		request.addHeader(PartitionForwarder.FORWARDED_HEADER, forwardedHeader);
+		return request;
+	}
+
+}
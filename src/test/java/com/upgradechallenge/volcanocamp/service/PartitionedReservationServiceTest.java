@@ -0,0 +1,170 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
+import com.upgradechallenge.volcanocamp.exception.ForwardedRequestException;
+import com.upgradechallenge.volcanocamp.exception.PartitionOwnerUnavailableException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartitionedReservationServiceTest extends ReservationServiceMocks {
+
+	private static final String MOCK_UUID = "c1614525-f582-4702-b886-db95d4489a4a";
+	private static final String SELF = "http://a:8080";
+	private static final String OTHER_MEMBER = "http://b:8080";
+	private static final LocalDate CHECKIN_DATE = LocalDate.now().plusDays(1);
+	private static final LocalDate CHECKOUT_DATE = LocalDate.now().plusDays(3);
+
+	@Mock
+	PartitionOwnership partitionOwnershipMock;
+
+	@Mock
+	PartitionForwarder partitionForwarderMock;
+
+	@Mock
+	PlatformTransactionManager transactionManagerMock;
+
+	@Mock
+	ReservationConfiguration reservationConfigMock;
+
+	@InjectMocks
+	PartitionedReservationService reservationService = new PartitionedReservationService();
+
+	@Test
+	public void givenOwnedCheckinDate_createNewReservation_shouldBookLocally() {
+		Reservation reservationToSave = newReservation();
+		when(partitionOwnershipMock.ownerOf(CHECKIN_DATE)).thenReturn(SELF);
+		when(partitionOwnershipMock.isSelf(SELF)).thenReturn(true);
+		givenSinglePartition();
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(savedReservation());
+
+		Reservation savedReservation = reservationService.createNewReservation(reservationToSave);
+
+		assertEquals(UUID.fromString(MOCK_UUID), savedReservation.getId());
+		verify(partitionForwarderMock, never()).forwardCreate(any(), any());
+	}
+
+	@Test
+	public void givenCheckinDateOwnedByAnotherMember_createNewReservation_shouldForwardIt() {
+		Reservation reservationToSave = newReservation();
+		when(partitionOwnershipMock.ownerOf(CHECKIN_DATE)).thenReturn(OTHER_MEMBER);
+		when(partitionForwarderMock.forwardCreate(OTHER_MEMBER, reservationToSave)).thenReturn(savedReservation());
+
+		Reservation savedReservation = reservationService.createNewReservation(reservationToSave);
+
+		assertEquals(UUID.fromString(MOCK_UUID), savedReservation.getId());
+		verify(reservationRepoMock, never()).save(any());
+	}
+
+	@Test
+	public void givenOwnerRefusingConnections_createNewReservation_shouldBookLocally() {
+		Reservation reservationToSave = newReservation();
+		when(partitionOwnershipMock.ownerOf(CHECKIN_DATE)).thenReturn(OTHER_MEMBER);
+		when(partitionForwarderMock.forwardCreate(OTHER_MEMBER, reservationToSave)).thenThrow(
+				new ResourceAccessException("I/O error", new ConnectException("Connection refused")));
+		givenSinglePartition();
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(savedReservation());
+
+		Reservation savedReservation = reservationService.createNewReservation(reservationToSave);
+
+		assertEquals(UUID.fromString(MOCK_UUID), savedReservation.getId());
+	}
+
+	@Test
+	public void givenOwnerTimingOut_createNewReservation_shouldNotBookLocally() {
+		Reservation reservationToSave = newReservation();
+		when(partitionOwnershipMock.ownerOf(CHECKIN_DATE)).thenReturn(OTHER_MEMBER);
+		when(partitionForwarderMock.forwardCreate(OTHER_MEMBER, reservationToSave))
+				.thenThrow(new PartitionOwnerUnavailableException("Read timed out"));
+
+		try {
+			reservationService.createNewReservation(reservationToSave);
+			fail("A booking the owner may have made must not be made again locally");
+		} catch (PartitionOwnerUnavailableException e) {
+			// expected
+		}
+
+		verify(reservationRepoMock, never()).save(any());
+	}
+
+	@Test
+	public void givenRequestForgingTheForwardedMark_createNewReservation_shouldRejectIt() {
+		Reservation reservationToSave = newReservation();
+		when(partitionOwnershipMock.ownerOf(CHECKIN_DATE)).thenReturn(OTHER_MEMBER);
+		when(partitionForwarderMock.isForwardedRequest()).thenThrow(new ForwardedRequestException());
+
+		try {
+			reservationService.createNewReservation(reservationToSave);
+			fail("A request passing for a member must not be booked locally");
+		} catch (ForwardedRequestException e) {
+			// expected
+		}
+
+		verify(partitionForwarderMock, never()).forwardCreate(any(), any());
+		verify(reservationRepoMock, never()).save(any());
+	}
+
+	@Test
+	public void givenFailedCommit_updateReservation_shouldReleaseTheClaimedDates() {
+		Reservation reservationToUpdate = Reservation.builder().checkinDate(CHECKIN_DATE)
+				.checkoutDate(CHECKOUT_DATE.plusDays(1)).build();
+		when(partitionOwnershipMock.ownerOf(CHECKIN_DATE)).thenReturn(SELF);
+		when(partitionOwnershipMock.isSelf(SELF)).thenReturn(true);
+		givenSinglePartition();
+		when(reservationRepoMock.findById(UUID.fromString(MOCK_UUID)))
+				.thenAnswer(invocation -> Optional.of(savedReservation()));
+		doThrow(new TransactionSystemException("Commit failed")).doNothing().when(transactionManagerMock).commit(any());
+
+		try {
+			reservationService.updateReservation(MOCK_UUID, reservationToUpdate);
+			fail("The commit failure must be reported");
+		} catch (TransactionSystemException e) {
+			// expected
+		}
+		// The night added by the failed update is free again for the retry
+		reservationService.updateReservation(MOCK_UUID, reservationToUpdate);
+
+		verify(transactionManagerMock, times(2)).commit(any());
+	}
+
+	private void givenSinglePartition() {
+		when(partitionOwnershipMock.partitionOf(any())).thenReturn(0L);
+		when(partitionOwnershipMock.partitionStart(anyLong())).thenReturn(CHECKIN_DATE);
+		when(partitionOwnershipMock.partitionEnd(anyLong())).thenReturn(CHECKIN_DATE.plusDays(30));
+		when(reservationConfigMock.getMaxLength()).thenReturn(3);
+	}
+
+	private Reservation newReservation() {
+		return Reservation.builder().userFullName("Test user").userEmail("test@mail.com").checkinDate(CHECKIN_DATE)
+				.checkoutDate(CHECKOUT_DATE).build();
+	}
+
+	private Reservation savedReservation() {
+		return Reservation.builder().id(UUID.fromString(MOCK_UUID)).userFullName("Test user")
+				.userEmail("test@mail.com").checkinDate(CHECKIN_DATE).checkoutDate(CHECKOUT_DATE).active(true).build();
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.upgradechallenge.volcanocamp.event.ReservationChangeNotification;
+import com.upgradechallenge.volcanocamp.event.ReservationChangedEvent;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+public class PostgresReservationChangeChannelTest {
+
+	private static final UUID RESERVATION_ID = UUID.fromString("c1614525-f582-4702-b886-db95d4489a4a");
+
+	@Test
+	public void givenChangedRanges_encodeDecode_shouldRestoreChange() {
+		ReservationChangedEvent event = new ReservationChangedEvent(RESERVATION_ID,
+				Arrays.asList(DateRange.of(LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 21)),
+						DateRange.of(LocalDate.of(2022, 3, 23), LocalDate.of(2022, 3, 25))));
+
+		ReservationChangeNotification notification = PostgresReservationChangeChannel
+				.decode(PostgresReservationChangeChannel.encode(event));
+
+		assertEquals(RESERVATION_ID, notification.getReservationId());
+		assertEquals(event.getChangedRanges(), notification.getChangedRanges());
+		assertFalse(notification.isResync());
+	}
+
+	@Test
+	public void givenNoChangedRange_encodeDecode_shouldRestoreEmptyRanges() {
+		ReservationChangedEvent event = new ReservationChangedEvent(RESERVATION_ID, Collections.emptyList());
+
+		ReservationChangeNotification notification = PostgresReservationChangeChannel
+				.decode(PostgresReservationChangeChannel.encode(event));
+
+		assertEquals(RESERVATION_ID, notification.getReservationId());
+		assertTrue(notification.getChangedRanges().isEmpty());
+	}
+
+	@Test
+	public void givenImportedChangeWithoutId_encodeDecode_shouldRestoreNullId() {
+		ReservationChangedEvent event = new ReservationChangedEvent(null,
+				Collections.singletonList(DateRange.of(LocalDate.of(2022, 3, 20), LocalDate.of(2022, 6, 1))));
+
+		ReservationChangeNotification notification = PostgresReservationChangeChannel
+				.decode(PostgresReservationChangeChannel.encode(event));
+
+		assertNull(notification.getReservationId());
+		assertEquals(event.getChangedRanges(), notification.getChangedRanges());
+	}
+}
@@ -0,0 +1,95 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+
+import com.upgradechallenge.volcanocamp.repository.OccupancyHistoryRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReservationDatePruningServiceTest {
+
+	private static final LocalDate CUTOFF_DATE = LocalDate.of(2022, 3, 1);
+
+	@Mock
+	ReservationDateRepository reservationDateRepoMock;
+
+	@Mock
+	OccupancyHistoryRepository occupancyHistoryRepoMock;
+
+	@InjectMocks
+	ReservationDatePruningService pruningService = new ReservationDatePruningService();
+
+	@Test
+	public void givenPastDates_pruneBatch_shouldDeleteTheBatchRange() {
+		when(reservationDateRepoMock.findOccupiedDatesBefore(CUTOFF_DATE, PageRequest.of(0, 3))).thenReturn(
+				Arrays.asList(LocalDate.of(2022, 1, 30), LocalDate.of(2022, 1, 31), LocalDate.of(2022, 2, 4)));
+		when(reservationDateRepoMock.deleteReservationDatesInInterval(LocalDate.of(2022, 1, 30),
+				LocalDate.of(2022, 2, 5))).thenReturn(3);
+
+		int prunedDates = pruningService.pruneBatch(CUTOFF_DATE, 3, false);
+
+		assertEquals(3, prunedDates);
+		verifyNoInteractions(occupancyHistoryRepoMock);
+	}
+
+	@Test
+	public void givenPastDatesAndHistory_pruneBatch_shouldAddPrunedNightsToTheirMonth() {
+		when(reservationDateRepoMock.findOccupiedDatesBefore(CUTOFF_DATE, PageRequest.of(0, 3))).thenReturn(
+				Arrays.asList(LocalDate.of(2022, 1, 30), LocalDate.of(2022, 1, 31), LocalDate.of(2022, 2, 4)));
+		when(reservationDateRepoMock.deleteReservationDatesInInterval(LocalDate.of(2022, 1, 30),
+				LocalDate.of(2022, 2, 1))).thenReturn(2);
+		when(reservationDateRepoMock.deleteReservationDatesInInterval(LocalDate.of(2022, 2, 4),
+				LocalDate.of(2022, 2, 5))).thenReturn(1);
+		when(occupancyHistoryRepoMock.addOccupiedNights("2022-01", 2)).thenReturn(1);
+		when(occupancyHistoryRepoMock.addOccupiedNights("2022-02", 1)).thenReturn(0);
+
+		int prunedDates = pruningService.pruneBatch(CUTOFF_DATE, 3, true);
+
+		assertEquals(3, prunedDates);
+		verify(occupancyHistoryRepoMock, never()).insertOccupiedNights(eq("2022-01"), anyLong());
+		verify(occupancyHistoryRepoMock).insertOccupiedNights("2022-02", 1);
+	}
+
+	@Test
+	public void givenDatesPrunedConcurrently_pruneBatch_shouldOnlyCountTheDeletedRows() {
+		when(reservationDateRepoMock.findOccupiedDatesBefore(CUTOFF_DATE, PageRequest.of(0, 3))).thenReturn(
+				Arrays.asList(LocalDate.of(2022, 1, 30), LocalDate.of(2022, 1, 31), LocalDate.of(2022, 2, 4)));
+		when(reservationDateRepoMock.deleteReservationDatesInInterval(LocalDate.of(2022, 1, 30),
+				LocalDate.of(2022, 2, 1))).thenReturn(0);
+		when(reservationDateRepoMock.deleteReservationDatesInInterval(LocalDate.of(2022, 2, 4),
+				LocalDate.of(2022, 2, 5))).thenReturn(1);
+		when(occupancyHistoryRepoMock.addOccupiedNights("2022-02", 1)).thenReturn(1);
+
+		int prunedDates = pruningService.pruneBatch(CUTOFF_DATE, 3, true);
+
+		assertEquals(1, prunedDates);
+		verify(occupancyHistoryRepoMock, never()).addOccupiedNights(eq("2022-01"), anyLong());
+	}
+
+	@Test
+	public void givenNoPastDates_pruneBatch_shouldDeleteNothing() {
+		when(reservationDateRepoMock.findOccupiedDatesBefore(CUTOFF_DATE, PageRequest.of(0, 3)))
+				.thenReturn(Collections.emptyList());
+
+		assertEquals(0, pruningService.pruneBatch(CUTOFF_DATE, 3, true));
+		verify(reservationDateRepoMock, never()).deleteReservationDatesInInterval(any(), any());
+	}
+}
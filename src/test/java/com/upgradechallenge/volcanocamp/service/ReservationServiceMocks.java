@@ -0,0 +1,31 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.upgradechallenge.volcanocamp.repository.ArchivedReservationRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationRepository;
+
+/**
+ * Collaborators of ReservationService shared by every booking mode, injected along with the mocks of the mode
+ * declared by the test class.
+ */
+public abstract class ReservationServiceMocks {
+
+	@Mock
+	ReservationRepository reservationRepoMock;
+
+	@Mock
+	ReservationDateRepository reservationDateRepoMock;
+
+	@Mock
+	ArchivedReservationRepository archivedReservationRepoMock;
+
+	@Mock
+	ReplicaStalenessTracker replicaStalenessTrackerMock;
+
+	@Mock
+	ApplicationEventPublisher eventPublisherMock;
+
+}
@@ -3,92 +3,108 @@ package com.upgradechallenge.volcanocamp.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
+import com.upgradechallenge.volcanocamp.event.ReservationDatesReleasedEvent;
+import com.upgradechallenge.volcanocamp.exception.ArchivedReservationException;
 import com.upgradechallenge.volcanocamp.exception.BadRequestException;
 import com.upgradechallenge.volcanocamp.exception.MethodNotAllowedException;
 import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
 import com.upgradechallenge.volcanocamp.exception.ResourceNotFoundException;
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
 import com.upgradechallenge.volcanocamp.model.Reservation;
 import com.upgradechallenge.volcanocamp.model.ReservationDate;
-import com.upgradechallenge.volcanocamp.repository.ReservationDateRepository;
-import com.upgradechallenge.volcanocamp.repository.ReservationRepository;
+import com.upgradechallenge.volcanocamp.repository.AvailableDateRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+import com.upgradechallenge.volcanocamp.utils.ReservationCursor;
 
 @RunWith(MockitoJUnitRunner.class)
-public class ReservationServiceTest {
+public class ReservationServiceTest extends ReservationServiceMocks {
 
 	private static final String MOCK_UUID = "c1614525-f582-4702-b886-db95d4489a4a";
 
 	@Mock
-	ReservationRepository reservationRepoMock;
+	AvailableDateRepository availableDateRepoMock;
+
+	@Mock
+	ReservationConfiguration reservationConfigMock;
+
+	@Mock
+	EntityManager entityManagerMock;
 
 	@Mock
-	ReservationDateRepository reservationDateRepoMock;
+	Session sessionMock;
 
 	@InjectMocks
 	ReservationService reservationService = new ReservationService();
 
 	@Test
-	public void givenTwoValidDatesAndNoReservations_getAllAvailableDates_shouldReturnAvailableDatesBetweenProvidedDates() {
+	public void givenTwoValidDates_getAllAvailableDates_shouldReturnTheFreeDatesUpToTheEndDateIncluded() {
 		LocalDate startDate = LocalDate.now().plusDays(1);
 		LocalDate endDate = LocalDate.now().plusDays(3);
 
-		when(reservationDateRepoMock.findActiveReservationsInIntervalNonLocked(startDate, endDate))
-				.thenReturn(new ArrayList<>());
+		List<LocalDate> freeDates = Arrays.asList(startDate, endDate);
+		when(availableDateRepoMock.findFreeDatesInInterval(startDate, endDate.plusDays(1))).thenReturn(freeDates);
 
 		List<LocalDate> availableDates = reservationService.getAllAvailableDates(startDate, endDate);
 
-		assertTrue(availableDates.size() == 3);
+		assertEquals(freeDates, availableDates);
+		verify(reservationDateRepoMock, never()).findActiveReservationsInIntervalNonLocked(any(), any());
 	}
 
 	@Test
-	public void givenValidReservation_getAllAvailableDates_shouldReturnOnlyOneAvailableDate() {
+	public void givenOccupiedDates_excludeOccupiedDates_shouldReturnTheOtherDatesOfThePeriod() {
 		LocalDate startDate = LocalDate.now().plusDays(1);
-		LocalDate endDate = LocalDate.now().plusDays(3);
-
-		List<ReservationDate> mockResDates = getReservationDateListFromRange(startDate, endDate);
 
-		when(reservationDateRepoMock.findActiveReservationsInIntervalNonLocked(startDate, endDate)).thenReturn(mockResDates);
+		List<LocalDate> availableDates = reservationService.excludeOccupiedDates(startDate, startDate.plusDays(5),
+				Arrays.asList(startDate.plusDays(1), startDate.plusDays(3), startDate.plusDays(8)));
 
-		List<LocalDate> availableDates = reservationService.getAllAvailableDates(startDate, endDate);
-
-		assertTrue(availableDates.size() == 1);
+		assertEquals(Arrays.asList(startDate, startDate.plusDays(2), startDate.plusDays(4)), availableDates);
 	}
 
 	@Test
-	public void givenTwoValidReservationOfTwoDays_getAllAvailableDates_shouldReturnAvailableDatesForReservationPeriodExcludingTheReservedDates() {
+	public void givenOneOccupiedDateInTenDays_getAvailabilityBitmask_shouldClearOnlyTheOccupiedDateBit() {
 		LocalDate startDate = LocalDate.now().plusDays(1);
 		LocalDate endDate = LocalDate.now().plusDays(10);
 
-		LocalDate startDateRes1 = LocalDate.now().plusDays(2);
-		LocalDate endDateRes1 = LocalDate.now().plusDays(4);
-		List<ReservationDate> mockResDates = getReservationDateListFromRange(startDateRes1, endDateRes1);
-
-		LocalDate startDateRes2 = LocalDate.now().plusDays(6);
-		LocalDate endDateRes2 = LocalDate.now().plusDays(8);
-		mockResDates.addAll(getReservationDateListFromRange(startDateRes2, endDateRes2));
+		List<ReservationDate> mockResDates = getReservationDateListFromRange(startDate.plusDays(1), startDate.plusDays(2));
+		mockResDates.add(ReservationDate.builder().date(endDate).build());
 
-		when(reservationDateRepoMock.findActiveReservationsInIntervalNonLocked(startDate, endDate))
+		when(reservationDateRepoMock.findActiveReservationsInIntervalNonLocked(startDate, endDate.plusDays(1)))
 				.thenReturn(mockResDates);
 
-		List<LocalDate> availableDates = reservationService.getAllAvailableDates(startDate, endDate);
+		byte[] bitmask = reservationService.getAvailabilityBitmask(startDate, endDate);
 
-		assertTrue(availableDates.size() == 6);
+		assertEquals(2, bitmask.length);
+		assertEquals((byte) 0b11111101, bitmask[0]);
+		assertEquals((byte) 0b00000001, bitmask[1]);
 	}
 
 	@Test(expected = BadRequestException.class)
@@ -114,6 +130,23 @@ public class ReservationServiceTest {
 		assertEquals(mockResOptional.get(), reservation);
 	}
 
+	@Test
+	public void givenIdOfArchivedReservation_getReservationById_shouldReturnTheArchivedReservation() {
+		LocalDate startDate = LocalDate.now().minusDays(10);
+		LocalDate endDate = LocalDate.now().minusDays(8);
+		UUID uuid = UUID.fromString(MOCK_UUID);
+
+		when(reservationRepoMock.findById(uuid)).thenReturn(Optional.empty());
+		when(archivedReservationRepoMock.findById(uuid)).thenReturn(Optional.of(ArchivedReservation.builder().id(uuid)
+				.archiveMonth("2022-03").checkinDate(startDate).checkoutDate(endDate).active(true).build()));
+
+		Reservation reservation = reservationService.getReservationById(MOCK_UUID);
+
+		assertEquals(uuid, reservation.getId());
+		assertEquals(startDate, reservation.getCheckinDate());
+		assertEquals(endDate, reservation.getCheckoutDate());
+	}
+
 	@Test(expected = BadRequestException.class)
 	public void givenInvalidUUID_getReservationById_shouldThrowException() {
 		reservationService.getReservationById("abc1234");
@@ -129,6 +162,81 @@ public class ReservationServiceTest {
 		reservationService.getReservationById(MOCK_UUID);
 	}
 
+	@Test
+	public void givenCursorOfPreviousPage_getReservationsByUserEmail_shouldQueryRightAfterTheCursor() {
+		LocalDate checkinDate = LocalDate.now().plusDays(1);
+		UUID uuid = UUID.fromString(MOCK_UUID);
+		String cursor = ReservationCursor
+				.after(Reservation.builder().id(uuid).checkinDate(checkinDate).build()).encode();
+
+		List<Reservation> nextPage = List.of(Reservation.builder().checkinDate(checkinDate.plusDays(2))
+				.checkoutDate(checkinDate.plusDays(3)).id(UUID.randomUUID()).build());
+		when(reservationRepoMock.findNextPageByUserEmail(eq("test@mail.com"), eq(checkinDate), any(), eq(uuid),
+				any())).thenReturn(nextPage);
+
+		List<Reservation> reservations = reservationService.getReservationsByUserEmail("test@mail.com", null, null,
+				cursor, 10);
+
+		assertEquals(nextPage, reservations);
+	}
+
+	@Test
+	public void givenCurrentAndArchivedReservations_getReservationsByUserEmail_shouldMergeThemInCheckinOrder() {
+		LocalDate checkinDate = LocalDate.now().plusDays(1);
+		Reservation first = Reservation.builder().id(UUID.randomUUID()).checkinDate(checkinDate)
+				.checkoutDate(checkinDate.plusDays(1)).build();
+		Reservation third = Reservation.builder().id(UUID.randomUUID()).checkinDate(checkinDate.plusDays(4))
+				.checkoutDate(checkinDate.plusDays(5)).build();
+		ArchivedReservation second = ArchivedReservation.builder().id(UUID.randomUUID())
+				.checkinDate(checkinDate.plusDays(2)).checkoutDate(checkinDate.plusDays(3)).build();
+
+		when(reservationRepoMock.findFirstPageByUserEmail(eq("test@mail.com"), any(), any(), any()))
+				.thenReturn(List.of(first, third));
+		when(archivedReservationRepoMock.findFirstPageByUserEmail(eq("test@mail.com"), any(), any(), any()))
+				.thenReturn(List.of(second));
+
+		List<Reservation> reservations = reservationService.getReservationsByUserEmail("test@mail.com", null, null,
+				null, 2);
+
+		assertEquals(2, reservations.size());
+		assertEquals(first, reservations.get(0));
+		assertEquals(second.getId(), reservations.get(1).getId());
+		assertTrue(reservations.get(1).isArchived());
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void givenInvalidCursor_getReservationsByUserEmail_shouldThrowException() {
+		reservationService.getReservationsByUserEmail("test@mail.com", null, null, "not-a-cursor", 10);
+	}
+
+	@Test
+	public void givenOneOccupiedDate_getAvailableWindows_shouldReturnEveryFreeStayAroundIt() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(7);
+		LocalDate occupiedDate = LocalDate.now().plusDays(3);
+
+		when(reservationConfigMock.getMinLength()).thenReturn(1);
+		when(reservationConfigMock.getMaxLength()).thenReturn(3);
+		when(reservationConfigMock.getMaxStartOffsetDays()).thenReturn(31);
+		when(reservationDateRepoMock.findActiveReservationsInIntervalNonLocked(startDate, endDate.plusDays(1)))
+				.thenReturn(getReservationDateListFromRange(occupiedDate, occupiedDate.plusDays(1)));
+
+		List<DateRange> windows = reservationService.getAvailableWindows(startDate, endDate, 2, Integer.MAX_VALUE);
+
+		assertEquals(Arrays.asList(DateRange.of(startDate, startDate.plusDays(2)),
+				DateRange.of(occupiedDate.plusDays(1), occupiedDate.plusDays(3)),
+				DateRange.of(occupiedDate.plusDays(2), occupiedDate.plusDays(4)),
+				DateRange.of(occupiedDate.plusDays(3), occupiedDate.plusDays(5))), windows);
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void givenTooManyNights_getAvailableWindows_shouldThrowException() {
+		when(reservationConfigMock.getMinLength()).thenReturn(1);
+		when(reservationConfigMock.getMaxLength()).thenReturn(3);
+
+		reservationService.getAvailableWindows(LocalDate.now().plusDays(1), LocalDate.now().plusDays(7), 4, 10);
+	}
+
 	@Test
 	public void givenValidReservationAndNoOccupiedDatesInRange_createNewReservation_shouldCreateAndReturnNewActiveReservation() {
 		LocalDate startDate = LocalDate.now().plusDays(1);
@@ -192,6 +300,29 @@ public class ReservationServiceTest {
 		assertEquals(endDateUpdate, savedReservation.getCheckoutDate());
 	}
 
+	@Test
+	public void givenOneNightExtension_updateReservation_shouldOnlyLockAndReserveTheAddedNight() {
+
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(3);
+		UUID uuid = UUID.fromString(MOCK_UUID);
+
+		Optional<Reservation> mockResOptional = Optional
+				.of(Reservation.builder().checkinDate(startDate).checkoutDate(endDate).id(uuid).active(true).build());
+
+		Reservation reservationToSave = Reservation.builder().checkinDate(startDate).checkoutDate(endDate.plusDays(1))
+				.id(uuid).active(true).build();
+
+		when(reservationRepoMock.findById(uuid)).thenReturn(mockResOptional);
+		when(reservationRepoMock.save(reservationToSave)).thenReturn(reservationToSave);
+
+		reservationService.updateReservation(MOCK_UUID, reservationToSave);
+
+		verify(reservationDateRepoMock).findActiveReservationsInInterval(endDate, endDate.plusDays(1));
+		verify(reservationDateRepoMock).saveAll(getReservationDateListFromRange(endDate, endDate.plusDays(1)));
+		verify(reservationDateRepoMock, never()).deleteReservationDatesInInterval(any(), any());
+	}
+
 	@Test(expected = OccupiedPeriodException.class)
 	public void givenValidReservationWithOverlappingDates_updateReservation_shouldThrowException() {
 
@@ -277,6 +408,8 @@ public class ReservationServiceTest {
 		Reservation reservation = reservationService.cancelReservation(MOCK_UUID);
 
 		assertFalse(reservation.isActive());
+		verify(eventPublisherMock).publishEvent(
+				new ReservationDatesReleasedEvent(Collections.singletonList(DateRange.of(startDate, endDate))));
 	}
 
 	@Test(expected = BadRequestException.class)
@@ -294,6 +427,56 @@ public class ReservationServiceTest {
 		reservationService.cancelReservation(MOCK_UUID);
 	}
 
+	@Test(expected = ArchivedReservationException.class)
+	public void givenIdOfArchivedReservation_cancelReservation_shouldThrowException() {
+		UUID uuid = UUID.fromString(MOCK_UUID);
+
+		when(reservationRepoMock.findById(uuid)).thenReturn(Optional.empty());
+		when(archivedReservationRepoMock.existsById(uuid)).thenReturn(true);
+
+		reservationService.cancelReservation(MOCK_UUID);
+	}
+
+	@Test
+	public void givenOverlappingImportedReservations_importReservations_shouldSkipTheOnesOnOccupiedDates() {
+		LocalDate startDate = LocalDate.of(2022, 3, 20);
+
+		Reservation first = Reservation.builder().checkinDate(startDate).checkoutDate(startDate.plusDays(2))
+				.active(true).build();
+		Reservation overlappingChunk = Reservation.builder().checkinDate(startDate.plusDays(1))
+				.checkoutDate(startDate.plusDays(3)).active(true).build();
+		Reservation overlappingStored = Reservation.builder().checkinDate(startDate.plusDays(5))
+				.checkoutDate(startDate.plusDays(7)).active(true).build();
+		Reservation cancelled = Reservation.builder().checkinDate(startDate).checkoutDate(startDate.plusDays(2))
+				.active(false).build();
+
+		when(entityManagerMock.unwrap(Session.class)).thenReturn(sessionMock);
+		when(reservationDateRepoMock.findOccupiedDatesInInterval(startDate, startDate.plusDays(7)))
+				.thenReturn(Collections.singletonList(startDate.plusDays(6)));
+
+		List<Reservation> imported = reservationService
+				.importReservations(Arrays.asList(first, overlappingChunk, overlappingStored, cancelled));
+
+		assertEquals(Arrays.asList(first, cancelled), imported);
+		verify(reservationRepoMock).saveAll(Arrays.asList(first, cancelled));
+		verify(reservationDateRepoMock).saveAllAndFlush(getReservationDateListFromRange(startDate, startDate.plusDays(2)));
+	}
+
+	@Test
+	public void givenImportedChunk_importReservations_shouldClearThePersistenceContextOnceFlushed() {
+		LocalDate startDate = LocalDate.of(2022, 3, 20);
+		Reservation reservation = Reservation.builder().checkinDate(startDate).checkoutDate(startDate.plusDays(2))
+				.active(true).build();
+
+		when(entityManagerMock.unwrap(Session.class)).thenReturn(sessionMock);
+
+		reservationService.importReservations(Collections.singletonList(reservation));
+
+		InOrder inOrder = inOrder(reservationDateRepoMock, entityManagerMock);
+		inOrder.verify(reservationDateRepoMock).saveAllAndFlush(any());
+		inOrder.verify(entityManagerMock).clear();
+	}
+
 	private List<ReservationDate> getReservationDateListFromRange(LocalDate startDate, LocalDate endDate) {
 		List<LocalDate> dates = Stream.iterate(startDate, date -> date.plusDays(1))
 				.limit(ChronoUnit.DAYS.between(startDate, endDate)).collect(Collectors.toList());
@@ -0,0 +1,131 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.upgradechallenge.volcanocamp.configuration.TransferConfiguration;
+import com.upgradechallenge.volcanocamp.model.ArchivedReservation;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.repository.ArchivedReservationRepository;
+import com.upgradechallenge.volcanocamp.repository.ReservationRepository;
+import com.upgradechallenge.volcanocamp.service.ReservationTransferService.ImportSummary;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReservationTransferServiceTest {
+
+	private static final LocalDate CHECKIN_DATE = LocalDate.of(2022, 3, 20);
+
+	@Mock
+	ReservationService reservationServiceMock;
+
+	@Mock
+	TransferConfiguration transferConfigMock;
+
+	@Mock
+	ReservationRepository reservationRepoMock;
+
+	@Mock
+	ArchivedReservationRepository archivedReservationRepoMock;
+
+	@Mock
+	EntityManager entityManagerMock;
+
+	@InjectMocks
+	ReservationTransferService transferService = new ReservationTransferService();
+
+	@Before
+	public void setUp() {
+		// Only the imports read the chunk size
+		lenient().when(transferConfigMock.getChunkSize()).thenReturn(2);
+	}
+
+	@Test
+	public void givenCurrentAndArchivedReservations_exportReservations_shouldExportBothFlaggingTheArchivedOnes() {
+		Reservation reservation = Reservation.builder().id(UUID.randomUUID()).checkinDate(CHECKIN_DATE)
+				.checkoutDate(CHECKIN_DATE.plusDays(1)).active(true).build();
+		ArchivedReservation archivedReservation = ArchivedReservation.builder().id(UUID.randomUUID())
+				.checkinDate(CHECKIN_DATE).checkoutDate(CHECKIN_DATE.plusDays(1)).build();
+		when(reservationRepoMock.streamAll()).thenReturn(Stream.of(reservation));
+		when(archivedReservationRepoMock.streamAll()).thenReturn(Stream.of(archivedReservation));
+
+		List<Reservation> exported = new ArrayList<>();
+		transferService.exportReservations(exported::add);
+
+		assertEquals(2, exported.size());
+		assertEquals(reservation.getId(), exported.get(0).getId());
+		assertFalse(exported.get(0).isArchived());
+		assertEquals(archivedReservation.getId(), exported.get(1).getId());
+		assertTrue(exported.get(1).isArchived());
+	}
+
+	@Test
+	public void givenFiveRecords_importReservations_shouldImportThemInChunks() {
+		when(reservationServiceMock.importReservations(anyList()))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		ImportSummary summary = transferService.importReservations(Stream.of("1", "2", "3", "4", "5"),
+				this::parseRecord);
+
+		assertEquals(5, summary.getImported());
+		assertEquals(0, summary.getConflicting());
+		verify(reservationServiceMock, times(3)).importReservations(anyList());
+	}
+
+	@Test
+	public void givenInvalidAndConflictingRecords_importReservations_shouldCountThemApart() {
+		when(reservationServiceMock.importReservations(anyList()))
+				.thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).subList(0, 1));
+
+		// Record 2 checks out before it checks in, record 4 is blank
+		ImportSummary summary = transferService.importReservations(Stream.of("1", "-2", "3", " ", "5"),
+				this::parseRecord);
+
+		assertEquals(2, summary.getImported());
+		assertEquals(1, summary.getConflicting());
+		assertEquals(1, summary.getInvalid());
+		assertEquals(Collections.singletonList("Record 2: The check-in date must be before the check-out date"),
+				summary.getErrors());
+	}
+
+	@Test
+	public void givenDateBookedDuringImport_importReservations_shouldCountTheChunkAsConflicting() {
+		when(reservationServiceMock.importReservations(anyList()))
+				.thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+		ImportSummary summary = transferService.importReservations(Stream.of("1", "2"), this::parseRecord);
+
+		assertEquals(0, summary.getImported());
+		assertEquals(2, summary.getConflicting());
+		assertEquals(1, summary.getErrors().size());
+	}
+
+	// Records hold a number of nights after CHECKIN_DATE, negative ones making the stay end before it starts
+	private Reservation parseRecord(String record) {
+		int nights = Integer.parseInt(record);
+		return Reservation.builder().userFullName("John Doe").userEmail("john.doe@upgrade.com")
+				.checkinDate(CHECKIN_DATE).checkoutDate(CHECKIN_DATE.plusDays(nights)).active(true).build();
+	}
+}
@@ -0,0 +1,81 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+public class StripedDateRangeLockerTest {
+
+	private static final LocalDate DAY = LocalDate.of(2022, 3, 1);
+
+	private final StripedDateRangeLocker locker = new StripedDateRangeLocker(16, 1, 50);
+
+	@Before
+	public void setUp() {
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@After
+	public void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	public void givenOverlappingRangesSpanningSeveralBuckets_bucketsOf_shouldReturnEachBucketOnceInAscendingOrder() {
+		DateRange first = DateRange.of(DAY, DAY.plusDays(3));
+		DateRange second = DateRange.of(DAY.plusDays(2), DAY.plusDays(7));
+		int firstBucket = (int) Math.floorDiv(DAY.toEpochDay(), 3);
+		int lastBucket = (int) Math.floorDiv(DAY.plusDays(6).toEpochDay(), 3);
+
+		SortedSet<Integer> buckets = DateRangeLocker.bucketsOf(Arrays.asList(second, first), 3);
+
+		assertEquals(Integer.valueOf(firstBucket), buckets.first());
+		assertEquals(Integer.valueOf(lastBucket), buckets.last());
+		assertEquals(lastBucket - firstBucket + 1, buckets.size());
+	}
+
+	@Test
+	public void givenLockedDates_lock_shouldTimeOutForOtherThreadsUntilTransactionCompletes() throws Exception {
+		locker.lock(Collections.singletonList(DateRange.of(DAY, DAY.plusDays(2))));
+
+		assertFalse(lockFromOtherThread());
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+
+		assertTrue(lockFromOtherThread());
+	}
+
+	private boolean lockFromOtherThread() throws Exception {
+		return CompletableFuture.supplyAsync(() -> {
+			TransactionSynchronizationManager.initSynchronization();
+			try {
+				locker.lock(Collections.singletonList(DateRange.of(DAY.plusDays(1), DAY.plusDays(2))));
+				TransactionSynchronizationManager.getSynchronizations()
+						.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+				return true;
+			} catch (PessimisticLockingFailureException e) {
+				return false;
+			} finally {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+		}).get(5, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,80 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.upgradechallenge.volcanocamp.configuration.WaitingRoomConfiguration;
+import com.upgradechallenge.volcanocamp.service.WaitingRoom.QueuePosition;
+
+public class WaitingRoomTest {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private WaitingRoom waitingRoom;
+
+	@Before
+	public void setUp() {
+		WaitingRoomConfiguration waitingRoomConfig = new WaitingRoomConfiguration();
+		waitingRoomConfig.setAdmissionsPerSecond(2);
+		waitingRoomConfig.setAdmissionTtlMs(1000);
+		waitingRoom = new WaitingRoom(waitingRoomConfig, nanos::get);
+	}
+
+	@Test
+	public void givenQuietRoom_enter_shouldAdmitRightAway() {
+		assertTrue(waitingRoom.enter(null).isAdmitted());
+		assertTrue(waitingRoom.enter(null).isAdmitted());
+	}
+
+	@Test
+	public void givenRush_enter_shouldQueueArrivalsBeyondBurst() {
+		waitingRoom.enter(null);
+		waitingRoom.enter(null);
+
+		QueuePosition queuePosition = waitingRoom.enter(null);
+
+		assertFalse(queuePosition.isAdmitted());
+		assertEquals(1, queuePosition.getPosition());
+		assertEquals(1, queuePosition.getWaitSeconds());
+	}
+
+	@Test
+	public void givenQueuedToken_enter_shouldAdmitOnceRateAllows() {
+		waitingRoom.enter(null);
+		waitingRoom.enter(null);
+		UUID token = waitingRoom.enter(null).getToken();
+
+		assertFalse(waitingRoom.enter(token).isAdmitted());
+		nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+		assertTrue(waitingRoom.poll(token).isAdmitted());
+
+		QueuePosition queuePosition = waitingRoom.enter(token);
+
+		assertTrue(queuePosition.isAdmitted());
+		assertEquals(token, queuePosition.getToken());
+		// The admission is used up by the request let through
+		assertNull(waitingRoom.poll(token));
+	}
+
+	@Test
+	public void givenUnknownToken_enter_shouldDrawNewTicket() {
+		waitingRoom.enter(null);
+		waitingRoom.enter(null);
+		UUID unknownToken = UUID.randomUUID();
+
+		QueuePosition queuePosition = waitingRoom.enter(unknownToken);
+
+		assertNotEquals(unknownToken, queuePosition.getToken());
+		assertFalse(queuePosition.isAdmitted());
+	}
+}
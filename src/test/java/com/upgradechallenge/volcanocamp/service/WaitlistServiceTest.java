@@ -0,0 +1,216 @@
+package com.upgradechallenge.volcanocamp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+
+import com.upgradechallenge.volcanocamp.configuration.ReservationConfiguration;
+import com.upgradechallenge.volcanocamp.exception.AvailablePeriodException;
+import com.upgradechallenge.volcanocamp.exception.OccupiedPeriodException;
+import com.upgradechallenge.volcanocamp.model.Reservation;
+import com.upgradechallenge.volcanocamp.model.WaitlistEntry;
+import com.upgradechallenge.volcanocamp.model.WaitlistStatus;
+import com.upgradechallenge.volcanocamp.repository.WaitlistEntryRepository;
+import com.upgradechallenge.volcanocamp.utils.DateRange;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WaitlistServiceTest {
+
+	private static final LocalDate RELEASED_START = LocalDate.now().plusDays(10);
+	private static final LocalDate RELEASED_END = LocalDate.now().plusDays(12);
+
+	@Mock
+	WaitlistEntryRepository waitlistRepoMock;
+
+	@Mock
+	ReservationService reservationServiceMock;
+
+	@Mock
+	ReservationConfiguration reservationConfigMock;
+
+	@Mock
+	PlatformTransactionManager transactionManagerMock;
+
+	@InjectMocks
+	WaitlistService waitlistService = new WaitlistService();
+
+	@Before
+	public void setUp() {
+		// Not every test promotes entries
+		lenient().when(reservationConfigMock.getMinStartOffsetDays()).thenReturn(1);
+		lenient().when(reservationConfigMock.getMaxLength()).thenReturn(3);
+	}
+
+	@Test
+	public void givenReleasedDates_promoteWaitingEntries_shouldBookOldestEntryAndSkipEntriesStillOverlappingTakenDates() {
+		WaitlistEntry oldestEntry = waitingEntry(RELEASED_START, RELEASED_END);
+		WaitlistEntry newerEntry = waitingEntry(RELEASED_START.plusDays(1), RELEASED_END);
+		UUID reservationId = UUID.randomUUID();
+
+		when(waitlistRepoMock.findWaitingEntriesOverlapping(RELEASED_START.minusDays(3), RELEASED_START, RELEASED_END))
+				.thenReturn(Arrays.asList(oldestEntry, newerEntry));
+		when(reservationServiceMock.getCreateIsolation()).thenReturn(Isolation.READ_COMMITTED);
+		when(waitlistRepoMock.claimForPromotion(any())).thenReturn(1);
+		when(reservationServiceMock.createNewReservation(argThat(r -> r.getCheckinDate().equals(RELEASED_START))))
+				.thenReturn(Reservation.builder().id(reservationId).build());
+		when(reservationServiceMock.createNewReservation(argThat(r -> r.getCheckinDate().equals(RELEASED_START.plusDays(1)))))
+				.thenThrow(new OccupiedPeriodException());
+
+		int promotedEntries = waitlistService
+				.promoteWaitingEntries(Collections.singletonList(DateRange.of(RELEASED_START, RELEASED_END)));
+
+		assertEquals(1, promotedEntries);
+		verify(waitlistRepoMock).assignReservation(oldestEntry.getId(), reservationId);
+		verify(waitlistRepoMock, never()).assignReservation(eq(newerEntry.getId()), any());
+		// The claim of the entry still overlapping taken dates is rolled back with its booking
+		verify(transactionManagerMock).rollback(any());
+	}
+
+	@Test
+	public void givenEntryClaimedByConcurrentPromotion_promoteWaitingEntries_shouldNotBookIt() {
+		WaitlistEntry entry = waitingEntry(RELEASED_START, RELEASED_END);
+
+		when(waitlistRepoMock.findWaitingEntriesOverlapping(RELEASED_START.minusDays(3), RELEASED_START, RELEASED_END))
+				.thenReturn(Collections.singletonList(entry));
+		when(reservationServiceMock.getCreateIsolation()).thenReturn(Isolation.READ_COMMITTED);
+		when(waitlistRepoMock.claimForPromotion(entry.getId())).thenReturn(0);
+
+		int promotedEntries = waitlistService
+				.promoteWaitingEntries(Collections.singletonList(DateRange.of(RELEASED_START, RELEASED_END)));
+
+		assertEquals(0, promotedEntries);
+		verify(reservationServiceMock, never()).createNewReservation(any());
+	}
+
+	@Test
+	public void givenUnexpectedBookingFailure_promoteWaitingEntries_shouldKeepTheEntryWaiting() {
+		WaitlistEntry entry = waitingEntry(RELEASED_START, RELEASED_END);
+
+		when(waitlistRepoMock.findWaitingEntriesOverlapping(RELEASED_START.minusDays(3), RELEASED_START, RELEASED_END))
+				.thenReturn(Collections.singletonList(entry));
+		when(reservationServiceMock.getCreateIsolation()).thenReturn(Isolation.READ_COMMITTED);
+		when(waitlistRepoMock.claimForPromotion(entry.getId())).thenReturn(1);
+		when(reservationServiceMock.createNewReservation(any())).thenThrow(new IllegalStateException("Connection reset"));
+
+		int promotedEntries = waitlistService
+				.promoteWaitingEntries(Collections.singletonList(DateRange.of(RELEASED_START, RELEASED_END)));
+
+		assertEquals(0, promotedEntries);
+		verify(waitlistRepoMock, never()).assignReservation(any(), any());
+		verify(transactionManagerMock).rollback(any());
+	}
+
+	@Test
+	public void givenReleasedDatesCloseToToday_promoteWaitingEntries_shouldNotLookBeforeFirstBookableDate() {
+		LocalDate releasedStart = LocalDate.now().plusDays(2);
+		LocalDate releasedEnd = LocalDate.now().plusDays(3);
+
+		when(waitlistRepoMock.findWaitingEntriesOverlapping(LocalDate.now().plusDays(1), releasedStart, releasedEnd))
+				.thenReturn(Collections.emptyList());
+
+		int promotedEntries = waitlistService
+				.promoteWaitingEntries(Collections.singletonList(DateRange.of(releasedStart, releasedEnd)));
+
+		assertEquals(0, promotedEntries);
+	}
+
+	@Test
+	public void givenSerializableBookingMode_promoteWaitingEntries_shouldClaimAndBookInASerializableTransaction() {
+		WaitlistEntry entry = waitingEntry(RELEASED_START, RELEASED_END);
+
+		when(waitlistRepoMock.findWaitingEntriesOverlapping(RELEASED_START.minusDays(3), RELEASED_START, RELEASED_END))
+				.thenReturn(Collections.singletonList(entry));
+		when(reservationServiceMock.getCreateIsolation()).thenReturn(Isolation.SERIALIZABLE);
+		when(waitlistRepoMock.claimForPromotion(entry.getId())).thenReturn(1);
+		when(reservationServiceMock.createNewReservation(any()))
+				.thenReturn(Reservation.builder().id(UUID.randomUUID()).build());
+
+		waitlistService.promoteWaitingEntries(Collections.singletonList(DateRange.of(RELEASED_START, RELEASED_END)));
+
+		verify(transactionManagerMock).getTransaction(
+				argThat(definition -> definition.getIsolationLevel() == TransactionDefinition.ISOLATION_SERIALIZABLE));
+	}
+
+	@Test
+	public void givenBookingCommittedOnItsOwn_promoteWaitingEntries_shouldCancelItWhenTheClaimIsRolledBack() {
+		WaitlistEntry entry = waitingEntry(RELEASED_START, RELEASED_END);
+		UUID reservationId = UUID.randomUUID();
+
+		when(waitlistRepoMock.findWaitingEntriesOverlapping(RELEASED_START.minusDays(3), RELEASED_START, RELEASED_END))
+				.thenReturn(Collections.singletonList(entry));
+		when(reservationServiceMock.getCreateIsolation()).thenReturn(Isolation.READ_COMMITTED);
+		when(reservationServiceMock.isCreateJoiningTransaction()).thenReturn(false);
+		when(waitlistRepoMock.claimForPromotion(entry.getId())).thenReturn(1);
+		when(reservationServiceMock.createNewReservation(any()))
+				.thenReturn(Reservation.builder().id(reservationId).build());
+		when(waitlistRepoMock.assignReservation(entry.getId(), reservationId))
+				.thenThrow(new IllegalStateException("Connection reset"));
+
+		int promotedEntries = waitlistService
+				.promoteWaitingEntries(Collections.singletonList(DateRange.of(RELEASED_START, RELEASED_END)));
+
+		assertEquals(0, promotedEntries);
+		verify(reservationServiceMock).cancelReservation(reservationId.toString());
+	}
+
+	@Test
+	public void givenStayWithATakenDate_registerEntry_shouldSaveAWaitingEntry() {
+		WaitlistEntry entry = WaitlistEntry.builder().checkinDate(RELEASED_START).checkoutDate(RELEASED_END).build();
+
+		when(reservationServiceMock.getAllAvailableDates(RELEASED_START, RELEASED_END.minusDays(1)))
+				.thenReturn(Collections.singletonList(RELEASED_START));
+		when(waitlistRepoMock.save(entry)).thenReturn(entry);
+
+		WaitlistEntry savedEntry = waitlistService.registerEntry(entry);
+
+		assertEquals(WaitlistStatus.WAITING, savedEntry.getStatus());
+	}
+
+	@Test(expected = AvailablePeriodException.class)
+	public void givenStayWithAllDatesAvailable_registerEntry_shouldThrowAvailablePeriodException() {
+		WaitlistEntry entry = WaitlistEntry.builder().checkinDate(RELEASED_START).checkoutDate(RELEASED_END).build();
+
+		when(reservationServiceMock.getAllAvailableDates(RELEASED_START, RELEASED_END.minusDays(1)))
+				.thenReturn(Arrays.asList(RELEASED_START, RELEASED_START.plusDays(1)));
+
+		try {
+			waitlistService.registerEntry(entry);
+		} finally {
+			verify(waitlistRepoMock, never()).save(any());
+		}
+	}
+
+	@Test
+	public void givenPastWaitingEntries_expirePastEntries_shouldExpireEntriesCheckingInBeforeFirstBookableDate() {
+		when(waitlistRepoMock.expireWaitingEntriesBefore(LocalDate.now().plusDays(1))).thenReturn(2);
+
+		assertEquals(2, waitlistService.expirePastEntries());
+	}
+
+	private WaitlistEntry waitingEntry(LocalDate checkinDate, LocalDate checkoutDate) {
+		return WaitlistEntry.builder().id(UUID.randomUUID()).userFullName("Test user").userEmail("test@mail.com")
+				.checkinDate(checkinDate).checkoutDate(checkoutDate).status(WaitlistStatus.WAITING)
+				.createdAt(Instant.now()).build();
+	}
+}
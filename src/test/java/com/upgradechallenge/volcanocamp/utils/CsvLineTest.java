@@ -0,0 +1,43 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.upgradechallenge.volcanocamp.exception.BadRequestException;
+
+public class CsvLineTest {
+
+	@Test
+	public void givenPlainValues_format_shouldJoinThemWithCommas() {
+		assertEquals("John Doe,john.doe@upgrade.com,,true", CsvLine.format("John Doe", "john.doe@upgrade.com", null, "true"));
+	}
+
+	@Test
+	public void givenValuesWithCommasAndQuotes_formatParse_shouldRestoreTheValues() {
+		String line = CsvLine.format("Doe, John", "John \"JD\" Doe", "2022-03-20");
+
+		assertEquals("\"Doe, John\",\"John \"\"JD\"\" Doe\",2022-03-20", line);
+		assertEquals(Arrays.asList("Doe, John", "John \"JD\" Doe", "2022-03-20"), CsvLine.parse(line));
+	}
+
+	@Test
+	public void givenValuesWithLineBreaks_format_shouldKeepTheRecordOnOneLine() {
+		String line = CsvLine.format("John\r\nDoe", "Doe,\nJohn", "x\ry");
+
+		assertEquals("John Doe,\"Doe, John\",x y", line);
+		assertEquals(Arrays.asList("John Doe", "Doe, John", "x y"), CsvLine.parse(line));
+	}
+
+	@Test
+	public void givenTrailingEmptyValue_parse_shouldKeepIt() {
+		assertEquals(Arrays.asList("a", "", ""), CsvLine.parse("a,,"));
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void givenUnterminatedQuote_parse_shouldThrowException() {
+		CsvLine.parse("\"Doe, John,2022-03-20");
+	}
+}
@@ -0,0 +1,60 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class DateRangeTest {
+
+	private static final LocalDate DAY = LocalDate.of(2022, 3, 1);
+
+	@Test
+	public void givenOneNightExtension_minus_shouldReturnOnlyTheAddedNight() {
+		DateRange oldRange = DateRange.of(DAY, DAY.plusDays(3));
+		DateRange newRange = DateRange.of(DAY, DAY.plusDays(4));
+
+		assertEquals(Collections.singletonList(DateRange.of(DAY.plusDays(3), DAY.plusDays(4))), newRange.minus(oldRange));
+		assertTrue(oldRange.minus(newRange).isEmpty());
+	}
+
+	@Test
+	public void givenShiftedRange_minus_shouldReturnTheNightsOnEachSide() {
+		DateRange oldRange = DateRange.of(DAY, DAY.plusDays(3));
+		DateRange newRange = DateRange.of(DAY.plusDays(1), DAY.plusDays(4));
+
+		assertEquals(Collections.singletonList(DateRange.of(DAY, DAY.plusDays(1))), oldRange.minus(newRange));
+		assertEquals(Collections.singletonList(DateRange.of(DAY.plusDays(3), DAY.plusDays(4))), newRange.minus(oldRange));
+	}
+
+	@Test
+	public void givenEnclosedRange_minus_shouldReturnBothEnds() {
+		DateRange outer = DateRange.of(DAY, DAY.plusDays(3));
+		DateRange inner = DateRange.of(DAY.plusDays(1), DAY.plusDays(2));
+
+		assertEquals(Arrays.asList(DateRange.of(DAY, DAY.plusDays(1)), DateRange.of(DAY.plusDays(2), DAY.plusDays(3))),
+				outer.minus(inner));
+	}
+
+	@Test
+	public void givenDisjointRanges_minus_shouldReturnTheRangeUnchanged() {
+		DateRange first = DateRange.of(DAY, DAY.plusDays(2));
+		DateRange second = DateRange.of(DAY.plusDays(2), DAY.plusDays(4));
+
+		assertEquals(Collections.singletonList(first), first.minus(second));
+	}
+
+	@Test
+	public void givenAdjacentAndCrossingRanges_overlaps_shouldOnlyMatchSharedNights() {
+		DateRange range = DateRange.of(DAY, DAY.plusDays(3));
+
+		assertTrue(range.overlaps(DateRange.of(DAY.plusDays(2), DAY.plusDays(5))));
+		assertFalse(range.overlaps(DateRange.of(DAY.plusDays(3), DAY.plusDays(5))));
+		assertFalse(range.overlaps(DateRange.of(DAY.minusDays(2), DAY)));
+	}
+}
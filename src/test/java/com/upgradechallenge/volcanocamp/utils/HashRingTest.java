@@ -0,0 +1,57 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class HashRingTest {
+
+	private static final int KEYS = 10_000;
+
+	@Test
+	public void givenSingleMember_ownerOf_shouldReturnIt() {
+		HashRing ring = new HashRing(Collections.singletonList("http://a:8080"), 16);
+
+		assertEquals("http://a:8080", ring.ownerOf("42"));
+	}
+
+	@Test
+	public void givenThreeMembers_ownerOf_shouldSpreadKeysEvenly() {
+		HashRing ring = new HashRing(Arrays.asList("http://a:8080", "http://b:8080", "http://c:8080"), 64);
+
+		Map<String, Integer> ownedKeys = new HashMap<>();
+		for (int key = 0; key < KEYS; key++) {
+			ownedKeys.merge(ring.ownerOf(Integer.toString(key)), 1, Integer::sum);
+		}
+
+		assertEquals(3, ownedKeys.size());
+		ownedKeys.values().forEach(count -> assertTrue(count > KEYS / 5));
+	}
+
+	@Test
+	public void givenAddedMember_ownerOf_shouldOnlyMoveKeysToIt() {
+		HashRing ring = new HashRing(Arrays.asList("http://a:8080", "http://b:8080"), 64);
+		HashRing grownRing = new HashRing(Arrays.asList("http://a:8080", "http://b:8080", "http://c:8080"), 64);
+
+		for (int key = 0; key < KEYS; key++) {
+			String owner = grownRing.ownerOf(Integer.toString(key));
+			assertTrue(owner.equals("http://c:8080") || owner.equals(ring.ownerOf(Integer.toString(key))));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNoVirtualNode_constructor_shouldThrowException() {
+		new HashRing(Collections.singletonList("http://a:8080"), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNoMember_constructor_shouldThrowException() {
+		new HashRing(Collections.emptyList(), 16);
+	}
+}
@@ -0,0 +1,88 @@
+package com.upgradechallenge.volcanocamp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+	private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+	private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void givenConcurrentCallsForTheSameKey_execute_shouldRunLoaderOnceAndShareTheResult() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoader = new CountDownLatch(1);
+
+		CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+			loads.incrementAndGet();
+			loaderStarted.countDown();
+			awaitQuietly(releaseLoader);
+			return 42;
+		}), executor);
+		// The first caller is loading before the others arrive
+		assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+		List<CompletableFuture<Integer>> others = new ArrayList<>();
+		for (int i = 1; i < CALLERS; i++) {
+			others.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("key", loads::incrementAndGet), executor));
+		}
+		// Release the loader only once every other caller waits for it
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (singleFlight.waitingCallers("key") < CALLERS - 1 && System.nanoTime() < deadline) {
+			Thread.yield();
+		}
+		assertEquals(CALLERS - 1, singleFlight.waitingCallers("key"));
+		releaseLoader.countDown();
+
+		assertEquals(Integer.valueOf(42), first.get(5, TimeUnit.SECONDS));
+		for (CompletableFuture<Integer> other : others) {
+			assertEquals(Integer.valueOf(42), other.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void givenCompletedCall_execute_shouldRunLoaderAgain() {
+		AtomicInteger loads = new AtomicInteger();
+
+		singleFlight.execute("key", loads::incrementAndGet);
+		singleFlight.execute("key", loads::incrementAndGet);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void givenFailingLoader_execute_shouldPropagateTheException() {
+		singleFlight.execute("key", () -> {
+			throw new IllegalStateException("query failed");
+		});
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}